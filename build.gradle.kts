@@ -2,15 +2,32 @@ plugins {
 	java
 	id("org.springframework.boot") version "4.0.0"
 	id("io.spring.dependency-management") version "1.1.7"
+
+	// Microbenchmarks (src/jmh/java): ./gradlew jmh
+	id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "ec.edu.ups.icc"
 version = "0.0.1-SNAPSHOT"
 description = "Demo project for Spring Boot"
 
+// Java 17 por defecto; -PjavaVersion=21 (o mayor) para el perfil virtual-threads
+val javaVersion = providers.gradleProperty("javaVersion").getOrElse("17").toInt()
+
 java {
 	toolchain {
-		languageVersion = JavaLanguageVersion.of(17)
+		languageVersion = JavaLanguageVersion.of(javaVersion)
+	}
+}
+
+// Diagnóstico de pinning de hilos virtuales:
+// ./gradlew bootRun -PjavaVersion=21 -PpinningDiagnostics --args='--spring.profiles.active=virtual-threads'
+// jfr print --events jdk.VirtualThreadPinned build/pinning.jfr
+tasks.named<JavaExec>("bootRun") {
+	if (providers.gradleProperty("pinningDiagnostics").isPresent) {
+		jvmArgs(
+			"-Djdk.tracePinnedThreads=short",
+			"-XX:StartFlightRecording=filename=${layout.buildDirectory.file("pinning.jfr").get().asFile.path},settings=profile")
 	}
 }
 
@@ -24,8 +41,14 @@ dependencies {
 	implementation("org.springframework.boot:spring-boot-starter-data-jpa")
 	implementation("org.springframework.boot:spring-boot-starter-validation")
 	implementation("org.springframework.boot:spring-boot-starter-actuator")
+	// Métricas en formato Prometheus (/actuator/prometheus): histogramas del pool de conexiones
+	runtimeOnly("io.micrometer:micrometer-registry-prometheus")
 	developmentOnly("org.springframework.boot:spring-boot-devtools")
 	runtimeOnly("org.postgresql:postgresql")
+
+	// Migraciones versionadas del esquema (src/main/resources/db/migration)
+	implementation("org.springframework.boot:spring-boot-starter-flyway")
+	implementation("org.flywaydb:flyway-database-postgresql")
 	
 	
 	testImplementation("org.springframework.boot:spring-boot-starter-test")
@@ -45,8 +68,79 @@ dependencies {
 	// NECESARIO: ErrorResponse usa LocalDateTime que requiere este módulo
 	implementation("com.fasterxml.jackson.datatype:jackson-datatype-jsr310")
 
+	// ============== CACHÉ ==============
+
+	// Spring Cache + Caffeine (caché en memoria acotada por tamaño y TTL)
+	implementation("org.springframework.boot:spring-boot-starter-cache")
+	implementation("com.github.ben-manes.caffeine:caffeine")
+
+	// Caché de segundo nivel de Hibernate (JCache con Caffeine como proveedor)
+	implementation("org.hibernate.orm:hibernate-jcache")
+	implementation("com.github.ben-manes.caffeine:jcache")
+
+	// Estadísticas de Hibernate (incluye regiones de caché) como métricas de Micrometer
+	implementation("org.hibernate.orm:hibernate-micrometer")
+
 	
 	// Tests de seguridad
 	testImplementation("org.springframework.security:spring-security-test")
+
+	// Tests de integración contra Postgres real (búsqueda tsvector, consultas nativas)
+	testImplementation("org.springframework.boot:spring-boot-testcontainers")
+	testImplementation("org.testcontainers:testcontainers-junit-jupiter")
+	testImplementation("org.testcontainers:testcontainers-postgresql")
 }
 
+// ============== BENCHMARKS (JMH) ==============
+
+// Rutas calientes: mapeo entidad -> DTO, serialización JSON y JWT
+// Resultados en build/results/jmh/results.json; el perfilador gc reporta gc.alloc.rate.norm (bytes/op)
+// Filtrar: ./gradlew jmh -Pjmh.includes=JwtUtilBenchmark
+jmh {
+	jmhVersion = "1.37"
+	profilers = listOf("gc")
+	fork = 1
+	warmupIterations = 3
+	iterations = 5
+	resultFormat = "JSON"
+	findProperty("jmh.includes")?.let { includes = listOf(it.toString()) }
+}
+
+// ============== PRUEBAS DE CARGA ==============
+
+// Generador de carga con HttpClient + hilos virtuales (src/loadTest/java, Java 21)
+// No depende del código de la aplicación: la API debe estar levantada (ver src/loadTest/docker/compose.yaml)
+val loadTest: SourceSet by sourceSets.creating
+
+dependencies {
+	"loadTestImplementation"("com.fasterxml.jackson.core:jackson-databind")
+}
+
+val loadTestJava = javaToolchains.launcherFor { languageVersion = JavaLanguageVersion.of(21) }
+
+tasks.named<JavaCompile>("compileLoadTestJava") {
+	javaCompiler = javaToolchains.compilerFor { languageVersion = JavaLanguageVersion.of(21) }
+}
+
+// ./gradlew loadTest -PloadTest.products=10000|100000|1000000 -PloadTest.label=<commit>
+tasks.register<JavaExec>("loadTest") {
+	group = "verification"
+	description = "Siembra el catálogo y mide p50/p99/throughput de la API en ejecución"
+	classpath = loadTest.runtimeClasspath
+	mainClass = "ec.edu.ups.icc.fundamentos01.loadtest.LoadTestMain"
+	javaLauncher = loadTestJava
+	systemProperty("loadTest.reportDir", layout.buildDirectory.dir("reports/load-test").get().asFile.path)
+	providers.gradlePropertiesPrefixedBy("loadTest.").get().forEach { (key, value) -> systemProperty(key, value) }
+}
+
+// ./gradlew loadTestDiff -PloadTest.baseline=<a.json> -PloadTest.candidate=<b.json>
+tasks.register<JavaExec>("loadTestDiff") {
+	group = "verification"
+	description = "Compara dos reportes de loadTest"
+	classpath = loadTest.runtimeClasspath
+	mainClass = "ec.edu.ups.icc.fundamentos01.loadtest.LoadReportDiff"
+	javaLauncher = loadTestJava
+	args(
+		providers.gradleProperty("loadTest.baseline").getOrElse(""),
+		providers.gradleProperty("loadTest.candidate").getOrElse(""))
+}
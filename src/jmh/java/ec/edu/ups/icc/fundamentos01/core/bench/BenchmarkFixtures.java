@@ -0,0 +1,50 @@
+package ec.edu.ups.icc.fundamentos01.core.bench;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import ec.edu.ups.icc.fundamentos01.categories.entity.CategoryEntity;
+import ec.edu.ups.icc.fundamentos01.products.models.ProductEntity;
+import ec.edu.ups.icc.fundamentos01.users.models.UserEntity;
+
+/**
+ * Entidades desacopladas (sin base de datos) para los benchmarks de mapeo y serialización
+ * Los tamaños imitan una fila típica del catálogo: owner + 3 categorías
+ */
+public final class BenchmarkFixtures {
+
+    public static final int CATEGORIES_PER_PRODUCT = 3;
+
+    private BenchmarkFixtures() {
+    }
+
+    public static UserEntity owner() {
+        UserEntity owner = new UserEntity("Pablo Torres", "pablo@example.com", "$2a$10$hash");
+        owner.setId(1L);
+        return owner;
+    }
+
+    public static Set<CategoryEntity> categories() {
+        Set<CategoryEntity> categories = new HashSet<>();
+        for (long i = 1; i <= CATEGORIES_PER_PRODUCT; i++) {
+            CategoryEntity category = new CategoryEntity();
+            category.setId(i);
+            category.setName("Categoría " + i);
+            category.setDescription("Descripción de la categoría " + i);
+            categories.add(category);
+        }
+        return categories;
+    }
+
+    public static ProductEntity product(long id, UserEntity owner, Set<CategoryEntity> categories) {
+        ProductEntity product = new ProductEntity();
+        product.setId(id);
+        product.setVersion(1L);
+        product.setName("Producto " + id);
+        product.setPrice(19.99 + id);
+        product.setDescription("Descripción del producto " + id + " para pruebas de rendimiento");
+        product.setOwner(owner);
+        product.setCategories(categories);
+        return product;
+    }
+}
@@ -0,0 +1,90 @@
+package ec.edu.ups.icc.fundamentos01.products.serialization;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import ec.edu.ups.icc.fundamentos01.categories.dtos.CategoryResponseDto;
+import ec.edu.ups.icc.fundamentos01.core.bench.BenchmarkFixtures;
+import ec.edu.ups.icc.fundamentos01.products.dtos.ProductResponseDto;
+
+/**
+ * Serialización de Page<ProductResponseDto> con el JsonMapper de Jackson 3 que usa MVC
+ *
+ * fragments=true registra el módulo de ProductJsonFragments (products.json-fragments.enabled);
+ * tras el warmup todos los productos de la página están en caché
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductPageSerializationBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    @Param({"false", "true"})
+    public boolean fragments;
+
+    private JsonMapper mapper;
+    private Page<ProductResponseDto> page;
+
+    @Setup
+    public void setUp() {
+        JsonMapper.Builder builder = JsonMapper.builder();
+        if (fragments) {
+            builder.addModule(new ProductJsonFragments().module());
+        }
+        mapper = builder.build();
+
+        List<ProductResponseDto> content = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            content.add(responseDto(id));
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize), 10_000);
+    }
+
+    @Benchmark
+    public String writePage() {
+        return mapper.writeValueAsString(page);
+    }
+
+    private ProductResponseDto responseDto(long id) {
+        ProductResponseDto dto = new ProductResponseDto();
+        dto.id = id;
+        dto.name = "Producto " + id;
+        dto.price = 19.99 + id;
+        dto.description = "Descripción del producto " + id + " para pruebas de rendimiento";
+        dto.version = 1L;
+        dto.createdAt = LocalDateTime.of(2024, 1, 26, 10, 30);
+
+        ProductResponseDto.UserSummaryDto ownerDto = new ProductResponseDto.UserSummaryDto();
+        ownerDto.id = 1L;
+        ownerDto.name = "Pablo Torres";
+        dto.user = ownerDto;
+
+        List<CategoryResponseDto> categories = new ArrayList<>();
+        for (long i = 1; i <= BenchmarkFixtures.CATEGORIES_PER_PRODUCT; i++) {
+            CategoryResponseDto categoryDto = new CategoryResponseDto();
+            categoryDto.id = i;
+            categoryDto.name = "Categoría " + i;
+            categories.add(categoryDto);
+        }
+        dto.categories = categories;
+        return dto;
+    }
+}
@@ -0,0 +1,61 @@
+package ec.edu.ups.icc.fundamentos01.products.services;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import ec.edu.ups.icc.fundamentos01.categories.entity.CategoryEntity;
+import ec.edu.ups.icc.fundamentos01.core.bench.BenchmarkFixtures;
+import ec.edu.ups.icc.fundamentos01.products.dtos.ProductResponseDto;
+import ec.edu.ups.icc.fundamentos01.products.models.Product;
+import ec.edu.ups.icc.fundamentos01.products.models.ProductEntity;
+import ec.edu.ups.icc.fundamentos01.users.models.UserEntity;
+
+/**
+ * Mapeo de productos: entidad -> DTO de respuesta y entidad <-> dominio
+ *
+ * El servicio se construye sin repositorios: toResponseDto no los usa
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProductMappingBenchmark {
+
+    private ProductServiceImpl service;
+    private ProductEntity entity;
+    private Product product;
+    private UserEntity owner;
+    private Set<CategoryEntity> categories;
+
+    @Setup
+    public void setUp() {
+        service = new ProductServiceImpl(null, null, null, null, null, Optional.empty());
+        owner = BenchmarkFixtures.owner();
+        categories = BenchmarkFixtures.categories();
+        entity = BenchmarkFixtures.product(42L, owner, categories);
+        product = Product.fromEntity(entity);
+    }
+
+    @Benchmark
+    public ProductResponseDto toResponseDto() {
+        return service.toResponseDto(entity);
+    }
+
+    @Benchmark
+    public Product fromEntity() {
+        return Product.fromEntity(entity);
+    }
+
+    @Benchmark
+    public ProductEntity toEntity() {
+        return product.toEntity(owner, categories);
+    }
+}
@@ -0,0 +1,65 @@
+package ec.edu.ups.icc.fundamentos01.security.utils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import ec.edu.ups.icc.fundamentos01.security.config.JwtProperties;
+import ec.edu.ups.icc.fundamentos01.security.services.UserDetailsImpl;
+
+/**
+ * Emisión y validación de JWT (HS256): login y cada request autenticado
+ * validateToken y getEmailFromToken verifican la firma por separado, como en el filtro original
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("mySecretKeyForJWT2024MustBeAtLeast256BitsLongForHS256Algorithm");
+        properties.setExpiration(1_800_000L);
+        properties.setIssuer("fundamentos01-api");
+        jwtUtil = new JwtUtil(properties);
+
+        UserDetailsImpl principal = new UserDetailsImpl(
+                1L,
+                "Pablo Torres",
+                "pablo@example.com",
+                null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN")));
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        token = jwtUtil.generateToken(authentication);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(authentication);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public String getEmailFromToken() {
+        return jwtUtil.getEmailFromToken(token);
+    }
+}
@@ -0,0 +1,39 @@
+package ec.edu.ups.icc.fundamentos01.users.services;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import ec.edu.ups.icc.fundamentos01.core.bench.BenchmarkFixtures;
+import ec.edu.ups.icc.fundamentos01.products.dtos.ProductResponseDto;
+import ec.edu.ups.icc.fundamentos01.products.models.ProductEntity;
+
+/**
+ * Mapeo de productos de un usuario (GET /api/users/{id}/products)
+ * A diferencia de ProductServiceImpl, incluye email del owner y descripción de categorías
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserMappingBenchmark {
+
+    private UserServiceImpl service;
+    private ProductEntity entity;
+
+    @Setup
+    public void setUp() {
+        service = new UserServiceImpl(null, null, null, null, null);
+        entity = BenchmarkFixtures.product(42L, BenchmarkFixtures.owner(), BenchmarkFixtures.categories());
+    }
+
+    @Benchmark
+    public ProductResponseDto toResponseDto() {
+        return service.toResponseDto(entity);
+    }
+}
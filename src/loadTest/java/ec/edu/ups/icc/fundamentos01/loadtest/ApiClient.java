@@ -0,0 +1,153 @@
+package ec.edu.ups.icc.fundamentos01.loadtest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Cliente HTTP de la prueba de carga
+ * Un solo HttpClient (pool de conexiones keep-alive) compartido por todos los hilos virtuales
+ */
+final class ApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    ApiClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    /**
+     * Respuesta con la latencia medida hasta leer el cuerpo completo
+     */
+    record Response(int status, byte[] body, long nanos) {
+
+        boolean isSuccess() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    // ============== PETICIONES ==============
+
+    Response get(String path, String token) {
+        return send(request(path, token).GET());
+    }
+
+    Response post(String path, String token, Object body) {
+        return send(request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(toJson(body))));
+    }
+
+    Response put(String path, String token, Object body) {
+        return send(request(path, token)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(toJson(body))));
+    }
+
+    Response postNdjson(String path, String token, byte[] body, Duration timeout) {
+        return send(request(path, token)
+                .timeout(timeout)
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body)));
+    }
+
+    // ============== AUTENTICACIÓN ==============
+
+    record Session(long userId, String email, String password, String token) {
+    }
+
+    Session login(String email, String password) {
+        Response response = post("/auth/login", null, new Credentials(email, password));
+        return session(response, email, password, "login");
+    }
+
+    /**
+     * Registra el usuario; si el email ya existe (409) inicia sesión
+     */
+    Session registerOrLogin(String name, String email, String password) {
+        Response response = post("/auth/register", null, new Registration(name, email, password));
+        if (response.status() == 409) {
+            return login(email, password);
+        }
+        return session(response, email, password, "registro");
+    }
+
+    private Session session(Response response, String email, String password, String operation) {
+        JsonNode json = expectSuccess(response, operation + " de " + email);
+        return new Session(json.get("userId").asLong(), email, password, json.get("token").asText());
+    }
+
+    private record Credentials(String email, String password) {
+    }
+
+    private record Registration(String name, String email, String password) {
+    }
+
+    // ============== HELPERS ==============
+
+    JsonNode expectSuccess(Response response, String operation) {
+        if (!response.isSuccess()) {
+            throw new IllegalStateException(operation + " falló con HTTP " + response.status() + ": "
+                    + new String(response.body()));
+        }
+        return json(response);
+    }
+
+    JsonNode json(Response response) {
+        try {
+            return mapper.readTree(response.body());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    byte[] toJson(Object body) {
+        try {
+            return mapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException(ex);
+        }
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private Response send(HttpRequest.Builder builder) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = http.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+            return new Response(response.statusCode(), response.body(), System.nanoTime() - start);
+        } catch (IOException ex) {
+            // Conexión rechazada, timeout, etc.: cuenta como error con su latencia
+            return new Response(-1, ex.toString().getBytes(), System.nanoTime() - start);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return new Response(-1, new byte[0], System.nanoTime() - start);
+        }
+    }
+}
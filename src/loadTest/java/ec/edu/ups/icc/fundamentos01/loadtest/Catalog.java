@@ -0,0 +1,37 @@
+package ec.edu.ups.icc.fundamentos01.loadtest;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Datos sembrados de los que se eligen parámetros al azar (ids, términos de búsqueda)
+ */
+record Catalog(
+        long totalProducts,
+        List<Long> productIds,
+        List<Long> userIds,
+        List<Long> categoryIds) {
+
+    // Páginas recorridas por /slice y /paginated (OFFSET acotado, como la navegación real)
+    private static final int MAX_BROWSABLE_PAGES = 50;
+
+    int browsablePages() {
+        return (int) Math.max(1, Math.min(MAX_BROWSABLE_PAGES, totalProducts / 10));
+    }
+
+    String randomSearchTerm(RandomGenerator random) {
+        return CatalogSeeder.SEARCH_TERMS.get(random.nextInt(CatalogSeeder.SEARCH_TERMS.size()));
+    }
+
+    long randomProductId(RandomGenerator random) {
+        return productIds.get(random.nextInt(productIds.size()));
+    }
+
+    long randomUserId(RandomGenerator random) {
+        return userIds.get(random.nextInt(userIds.size()));
+    }
+
+    long randomCategoryId(RandomGenerator random) {
+        return categoryIds.get(random.nextInt(categoryIds.size()));
+    }
+}
@@ -0,0 +1,184 @@
+package ec.edu.ups.icc.fundamentos01.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Siembra el catálogo hasta el tamaño pedido (10k / 100k / 1M) usando la propia API:
+ * usuarios por /auth/register, categorías por /api/categories y productos por
+ * POST /api/products/bulk (NDJSON, como ADMIN)
+ *
+ * Es idempotente: solo inserta la diferencia con el total actual.
+ * La semilla fija del generador hace que dos corridas con el mismo tamaño tengan los mismos datos.
+ */
+final class CatalogSeeder {
+
+    // Filas por petición al endpoint bulk (~10 MB de NDJSON)
+    private static final int BULK_CHUNK = 50_000;
+
+    private static final long RANDOM_SEED = 20240126L;
+
+    private static final List<String> ADJECTIVES = List.of("Elite", "Plus", "Neo", "Prime", "Compact", "Boost", "Air");
+    private static final List<String> PRODUCT_TYPES = List.of("Notebook", "Mouse", "Keyboard", "Display", "Tablet", "Phone", "Headset");
+    private static final List<String> BRANDS = List.of("Lenovo", "HP", "Dell", "Asus", "Samsung", "Logitech", "Apple");
+    private static final List<String> SPECS = List.of("i5", "i7", "i9", "8GB", "16GB", "32GB", "512GB", "1TB");
+
+    // Términos de /search: prefijos y palabras completas del vocabulario sembrado
+    static final List<String> SEARCH_TERMS = List.of(
+            "note", "Notebook", "mouse", "Keyboard", "disp", "Tablet", "phone", "Head",
+            "Lenovo", "dell", "Samsung", "Logi", "Elite", "prime", "16GB", "1TB");
+
+    // Lista (no Map.of) para que el orden de los ids y por lo tanto los datos sean reproducibles
+    private static final List<Map.Entry<String, String>> CATEGORIES = List.of(
+            Map.entry("Portátiles", "Computadoras ligeras y de alto rendimiento"),
+            Map.entry("Celulares", "Smartphones modernos"),
+            Map.entry("Periféricos", "Mouse, teclados y accesorios"),
+            Map.entry("Pantallas", "Monitores y displays"),
+            Map.entry("Conectividad", "Routers y redes"),
+            Map.entry("Gaming", "Equipos y accesorios gamer"));
+
+    private final ApiClient api;
+    private final LoadTestConfig config;
+
+    CatalogSeeder(ApiClient api, LoadTestConfig config) {
+        this.api = api;
+        this.config = config;
+    }
+
+    // ============== SESIONES ==============
+
+    ApiClient.Session adminSession() {
+        return api.login(config.adminEmail(), config.adminPassword());
+    }
+
+    List<ApiClient.Session> userSessions() {
+        List<ApiClient.Session> sessions = new ArrayList<>(config.users());
+        for (int i = 1; i <= config.users(); i++) {
+            sessions.add(api.registerOrLogin("Load Test " + i, "loadtest.user" + i + "@demo.com", "LoadTest123"));
+        }
+        return sessions;
+    }
+
+    // ============== SIEMBRA ==============
+
+    Catalog seed(ApiClient.Session admin, List<ApiClient.Session> users) {
+        List<Long> categoryIds = ensureCategories(admin.token());
+        List<Long> userIds = users.stream().map(ApiClient.Session::userId).toList();
+
+        long total = currentTotal(admin.token());
+        if (config.seed() && total < config.products()) {
+            System.out.printf("Sembrando %d productos (actual: %d, objetivo: %d)%n",
+                    config.products() - total, total, config.products());
+            insertProducts(admin.token(), total, config.products() - total, userIds, categoryIds);
+            total = currentTotal(admin.token());
+        }
+
+        return new Catalog(total, sampleProductIds(admin.token(), total), userIds, categoryIds);
+    }
+
+    private List<Long> ensureCategories(String token) {
+        Map<String, Long> existing = new HashMap<>();
+        for (JsonNode category : api.expectSuccess(api.get("/api/categories", token), "listar categorías")) {
+            existing.put(category.get("name").asText(), category.get("id").asLong());
+        }
+
+        List<Long> ids = new ArrayList<>();
+        for (Map.Entry<String, String> category : CATEGORIES) {
+            Long id = existing.get(category.getKey());
+            if (id == null) {
+                JsonNode created = api.expectSuccess(
+                        api.post("/api/categories", token,
+                                Map.of("name", category.getKey(), "description", category.getValue())),
+                        "crear categoría " + category.getKey());
+                id = created.get("id").asLong();
+            }
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private void insertProducts(String token, long offset, long count,
+                                List<Long> userIds, List<Long> categoryIds) {
+
+        SplittableRandom random = new SplittableRandom(RANDOM_SEED + offset);
+        long inserted = 0;
+
+        while (inserted < count) {
+            int chunk = (int) Math.min(BULK_CHUNK, count - inserted);
+            ByteArrayOutputStream ndjson = new ByteArrayOutputStream(chunk * 200);
+
+            for (int i = 0; i < chunk; i++) {
+                long sequence = offset + inserted + i + 1;
+                ndjson.writeBytes(api.toJson(productRow(sequence, random, userIds, categoryIds)));
+                ndjson.write('\n');
+            }
+
+            JsonNode result = api.expectSuccess(
+                    api.postNdjson("/api/products/bulk", token, ndjson.toByteArray(), Duration.ofMinutes(10)),
+                    "importación masiva");
+            inserted += chunk;
+            System.out.printf("  bulk: %d/%d (creados %d, fallidos %d)%n", inserted, count,
+                    result.path("created").asLong(), result.path("failed").asLong());
+        }
+    }
+
+    private Map<String, Object> productRow(long sequence, SplittableRandom random,
+                                           List<Long> userIds, List<Long> categoryIds) {
+        String name = pick(ADJECTIVES, random) + " " + pick(PRODUCT_TYPES, random) + " "
+                + pick(BRANDS, random) + " " + pick(SPECS, random) + " #" + sequence;
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("name", name);
+        row.put("price", Math.round(random.nextDouble(10, 2500) * 100) / 100.0);
+        row.put("description", "Equipo " + pick(BRANDS, random) + " " + pick(SPECS, random)
+                + " con garantía de " + random.nextInt(1, 4) + " años");
+        row.put("userId", userIds.get(random.nextInt(userIds.size())));
+        // Una o dos categorías (el Set descarta la repetida)
+        row.put("categoryIds", new TreeSet<>(List.of(
+                categoryIds.get(random.nextInt(categoryIds.size())),
+                categoryIds.get(random.nextInt(categoryIds.size())))));
+        return row;
+    }
+
+    // ============== MUESTRAS ==============
+
+    private long currentTotal(String token) {
+        JsonNode page = api.expectSuccess(api.get("/api/products/paginated?size=1", token), "contar productos");
+        return page.path("totalElements").asLong();
+    }
+
+    /**
+     * Ids existentes para GET /api/products/{id}: páginas repartidas por todo el catálogo
+     */
+    private List<Long> sampleProductIds(String token, long total) {
+        int pages = (int) Math.max(1, total / 100);
+        List<Long> ids = new ArrayList<>();
+        SplittableRandom random = new SplittableRandom(RANDOM_SEED);
+
+        for (int i = 0; i < 10 && ids.size() < 1000; i++) {
+            int page = random.nextInt(pages);
+            JsonNode content = api.expectSuccess(
+                    api.get("/api/products/paginated?size=100&page=" + page, token), "muestrear productos")
+                    .path("content");
+            content.forEach(product -> ids.add(product.get("id").asLong()));
+        }
+
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("El catálogo está vacío: ejecute con loadTest.seed=true");
+        }
+        return ids;
+    }
+
+    private static String pick(List<String> values, SplittableRandom random) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
@@ -0,0 +1,92 @@
+package ec.edu.ups.icc.fundamentos01.loadtest;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Latencias por escenario (nanosegundos, sin agrupar en buckets)
+ * Con las duraciones usadas (minutos) caben en memoria y los percentiles son exactos
+ */
+final class LatencyRecorder {
+
+    private final Map<Scenario, Samples> samples = new EnumMap<>(Scenario.class);
+
+    LatencyRecorder() {
+        for (Scenario scenario : Scenario.values()) {
+            samples.put(scenario, new Samples());
+        }
+    }
+
+    void record(Scenario scenario, ApiClient.Response response) {
+        samples.get(scenario).add(response.nanos(), response.isSuccess());
+    }
+
+    /**
+     * Resumen de un escenario; null si no tuvo peticiones
+     */
+    LoadReport.Stats stats(Scenario scenario, double seconds) {
+        return samples.get(scenario).stats(seconds);
+    }
+
+    LoadReport.Stats total(double seconds) {
+        Samples all = new Samples();
+        samples.values().forEach(all::addAll);
+        return all.stats(seconds);
+    }
+
+    private static final class Samples {
+
+        private long[] nanos = new long[1024];
+        private int size;
+        private long errors;
+
+        synchronized void add(long value, boolean success) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        synchronized void addAll(Samples other) {
+            synchronized (other) {
+                for (int i = 0; i < other.size; i++) {
+                    add(other.nanos[i], true);
+                }
+                errors += other.errors;
+            }
+        }
+
+        synchronized LoadReport.Stats stats(double seconds) {
+            if (size == 0) {
+                return null;
+            }
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            return new LoadReport.Stats(
+                    size,
+                    errors,
+                    round(size / seconds),
+                    millis(percentile(sorted, 0.50)),
+                    millis(percentile(sorted, 0.90)),
+                    millis(percentile(sorted, 0.99)),
+                    millis(sorted[sorted.length - 1]));
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, index)];
+        }
+
+        private static double millis(long nanos) {
+            return round(nanos / 1_000_000.0);
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 100) / 100.0;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package ec.edu.ups.icc.fundamentos01.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Estado de un cliente virtual: su sesión y los productos que creó (para los UPDATE)
+ * Cada instancia la usa un solo hilo virtual
+ */
+final class LoadClient {
+
+    // Productos propios recordados por cliente (los más recientes)
+    private static final int MAX_OWNED = 50;
+
+    private final ApiClient api;
+    private final ApiClient.Session session;
+    private final Catalog catalog;
+    private final List<Long> ownedProducts = new ArrayList<>();
+
+    LoadClient(ApiClient api, ApiClient.Session session, Catalog catalog) {
+        this.api = api;
+        this.session = session;
+        this.catalog = catalog;
+    }
+
+    ApiClient api() {
+        return api;
+    }
+
+    ApiClient.Session session() {
+        return session;
+    }
+
+    String token() {
+        return session.token();
+    }
+
+    Catalog catalog() {
+        return catalog;
+    }
+
+    void remember(long productId) {
+        if (ownedProducts.size() == MAX_OWNED) {
+            ownedProducts.remove(0);
+        }
+        ownedProducts.add(productId);
+    }
+
+    Long randomOwnedProduct() {
+        if (ownedProducts.isEmpty()) {
+            return null;
+        }
+        return ownedProducts.get(ThreadLocalRandom.current().nextInt(ownedProducts.size()));
+    }
+}
@@ -0,0 +1,90 @@
+package ec.edu.ups.icc.fundamentos01.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Reporte JSON de una corrida, con orden de claves estable para poder compararlo entre commits
+ * (a mano con diff o con LoadReportDiff)
+ */
+record LoadReport(
+        String label,
+        String startedAt,
+        String baseUrl,
+        int products,
+        long catalogSize,
+        int concurrency,
+        long warmupSeconds,
+        long durationSeconds,
+        Map<String, Integer> mix,
+        Map<String, Stats> scenarios,
+        Stats total) {
+
+    /**
+     * Latencias en milisegundos; throughput en peticiones por segundo
+     */
+    record Stats(
+            long requests,
+            long errors,
+            double throughput,
+            double p50Ms,
+            double p90Ms,
+            double p99Ms,
+            double maxMs) {
+    }
+
+    static LoadReport of(LoadTestConfig config, String startedAt, long catalogSize,
+                         LatencyRecorder recorder, double measuredSeconds) {
+
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        config.mix().forEach((scenario, weight) -> mix.put(scenario.key(), weight));
+
+        Map<String, Stats> scenarios = new LinkedHashMap<>();
+        for (Scenario scenario : Scenario.values()) {
+            Stats stats = recorder.stats(scenario, measuredSeconds);
+            if (stats != null) {
+                scenarios.put(scenario.key(), stats);
+            }
+        }
+
+        return new LoadReport(config.label(), startedAt, config.baseUrl(), config.products(), catalogSize, config.concurrency(),
+                config.warmup().toSeconds(), config.duration().toSeconds(), mix, scenarios,
+                recorder.total(measuredSeconds));
+    }
+
+    static ObjectMapper mapper() {
+        return new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    Path write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(label + "-" + products + ".json");
+        mapper().writeValue(file.toFile(), this);
+        return file;
+    }
+
+    static LoadReport read(Path file) throws IOException {
+        return mapper().readValue(file.toFile(), LoadReport.class);
+    }
+
+    void print() {
+        System.out.printf("%n%-10s %9s %7s %10s %9s %9s %9s %9s%n",
+                "escenario", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        scenarios.forEach(LoadReport::printRow);
+        printRow("TOTAL", total);
+    }
+
+    private static void printRow(String name, Stats stats) {
+        if (stats == null) {
+            return;
+        }
+        System.out.printf("%-10s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n", name, stats.requests(),
+                stats.errors(), stats.throughput(), stats.p50Ms(), stats.p90Ms(), stats.p99Ms(), stats.maxMs());
+    }
+}
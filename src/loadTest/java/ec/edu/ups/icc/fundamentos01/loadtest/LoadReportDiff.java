@@ -0,0 +1,48 @@
+package ec.edu.ups.icc.fundamentos01.loadtest;
+
+import java.nio.file.Path;
+
+/**
+ * Compara dos reportes de LoadTestMain (base vs candidato) escenario por escenario:
+ * ./gradlew loadTestDiff -PloadTest.baseline=<a.json> -PloadTest.candidate=<b.json>
+ *
+ * Variación positiva en latencia = más lento; en throughput = más rápido
+ */
+public final class LoadReportDiff {
+
+    private LoadReportDiff() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 2 || args[0].isBlank() || args[1].isBlank()) {
+            throw new IllegalArgumentException("Uso: LoadReportDiff <baseline.json> <candidate.json>");
+        }
+
+        LoadReport baseline = LoadReport.read(Path.of(args[0]));
+        LoadReport candidate = LoadReport.read(Path.of(args[1]));
+
+        System.out.printf("%s (%d productos) -> %s (%d productos)%n%n",
+                baseline.label(), baseline.catalogSize(), candidate.label(), candidate.catalogSize());
+        System.out.printf("%-10s %24s %24s %24s%n", "escenario", "p50 ms", "p99 ms", "req/s");
+
+        baseline.scenarios().forEach((name, before) ->
+                printRow(name, before, candidate.scenarios().get(name)));
+        printRow("TOTAL", baseline.total(), candidate.total());
+    }
+
+    private static void printRow(String name, LoadReport.Stats before, LoadReport.Stats after) {
+        if (before == null || after == null) {
+            System.out.printf("%-10s %24s%n", name, "(sin datos en ambos reportes)");
+            return;
+        }
+        System.out.printf("%-10s %24s %24s %24s%n", name,
+                change(before.p50Ms(), after.p50Ms()),
+                change(before.p99Ms(), after.p99Ms()),
+                change(before.throughput(), after.throughput()));
+    }
+
+    private static String change(double before, double after) {
+        double percent = before == 0 ? 0 : (after - before) * 100 / before;
+        return String.format("%.2f -> %.2f (%+.1f%%)", before, after, percent);
+    }
+}
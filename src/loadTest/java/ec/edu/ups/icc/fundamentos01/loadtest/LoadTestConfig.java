@@ -0,0 +1,73 @@
+package ec.edu.ups.icc.fundamentos01.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parámetros de la prueba de carga (propiedades -PloadTest.* de Gradle)
+ *
+ * loadTest.baseUrl      URL de la API (http://localhost:8080)
+ * loadTest.products     tamaño del catálogo sembrado: 10000 | 100000 | 1000000
+ * loadTest.users        usuarios de carga (cada uno con su token)
+ * loadTest.concurrency  clientes concurrentes (un hilo virtual por cliente)
+ * loadTest.warmup       segundos de calentamiento, no se miden
+ * loadTest.duration     segundos medidos
+ * loadTest.mix          pesos por escenario: search=30,slice=20,...
+ * loadTest.seed         false para reutilizar el catálogo existente sin sembrar
+ * loadTest.label        etiqueta del reporte (p. ej. el hash del commit)
+ */
+record LoadTestConfig(
+        String baseUrl,
+        int products,
+        int users,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        Map<Scenario, Integer> mix,
+        boolean seed,
+        String adminEmail,
+        String adminPassword,
+        String label,
+        Path reportDir) {
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                property("loadTest.baseUrl", "http://localhost:8080"),
+                Integer.parseInt(property("loadTest.products", "10000")),
+                Integer.parseInt(property("loadTest.users", "20")),
+                Integer.parseInt(property("loadTest.concurrency", "64")),
+                Duration.ofSeconds(Long.parseLong(property("loadTest.warmup", "15"))),
+                Duration.ofSeconds(Long.parseLong(property("loadTest.duration", "60"))),
+                parseMix(property("loadTest.mix", Scenario.DEFAULT_MIX)),
+                Boolean.parseBoolean(property("loadTest.seed", "true")),
+                property("loadTest.adminEmail", "admin@ups.edu.ec"),
+                property("loadTest.adminPassword", "admin123"),
+                property("loadTest.label", "local"),
+                Path.of(property("loadTest.reportDir", "build/reports/load-test")));
+    }
+
+    private static String property(String name, String defaultValue) {
+        String value = System.getProperty(name);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    private static Map<Scenario, Integer> parseMix(String value) {
+        Map<Scenario, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("loadTest.mix inválido: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                mix.put(Scenario.fromKey(parts[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("loadTest.mix no tiene escenarios con peso > 0");
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,106 @@
+package ec.edu.ups.icc.fundamentos01.loadtest;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Prueba de carga de la API: ./gradlew loadTest -PloadTest.products=100000 -PloadTest.label=$(git rev-parse --short HEAD)
+ *
+ * 1. Inicia sesión como ADMIN y registra los usuarios de carga
+ * 2. Siembra el catálogo hasta loadTest.products (ver CatalogSeeder)
+ * 3. Ejecuta loadTest.concurrency clientes en hilos virtuales (lazo cerrado: cada cliente
+ *    envía la siguiente petición al recibir la respuesta anterior) durante warmup + duration
+ * 4. Escribe build/reports/load-test/<label>-<products>.json con p50/p90/p99 y throughput
+ *
+ * La API debe estar levantada contra una base de prueba (src/loadTest/docker/compose.yaml), nunca producción.
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        ApiClient api = new ApiClient(config.baseUrl());
+
+        CatalogSeeder seeder = new CatalogSeeder(api, config);
+        ApiClient.Session admin = seeder.adminSession();
+        List<ApiClient.Session> users = seeder.userSessions();
+        Catalog catalog = seeder.seed(admin, users);
+
+        System.out.printf("Catálogo: %d productos | %d clientes | warmup %ds | medición %ds | mezcla %s%n",
+                catalog.totalProducts(), config.concurrency(), config.warmup().toSeconds(),
+                config.duration().toSeconds(), config.mix());
+
+        String startedAt = Instant.now().toString();
+        LatencyRecorder recorder = run(config, api, users, catalog);
+
+        LoadReport report = LoadReport.of(config, startedAt, catalog.totalProducts(), recorder,
+                config.duration().toMillis() / 1000.0);
+        report.print();
+
+        Path file = report.write(config.reportDir());
+        System.out.println("\nReporte: " + file.toAbsolutePath());
+    }
+
+    // ============== EJECUCIÓN ==============
+
+    private static LatencyRecorder run(LoadTestConfig config, ApiClient api,
+                                       List<ApiClient.Session> users, Catalog catalog) {
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        Scenario[] wheel = weightedWheel(config);
+
+        long measureFrom = System.nanoTime() + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+
+        // close() espera a que todos los clientes terminen
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < config.concurrency(); i++) {
+                LoadClient client = new LoadClient(api, users.get(i % users.size()), catalog);
+                executor.submit(() -> runClient(client, wheel, recorder, measureFrom, end));
+            }
+        }
+        return recorder;
+    }
+
+    private static void runClient(LoadClient client, Scenario[] wheel, LatencyRecorder recorder,
+                                  long measureFrom, long end) {
+
+        long startedAt;
+        while ((startedAt = System.nanoTime()) < end) {
+            Scenario scenario = wheel[ThreadLocalRandom.current().nextInt(wheel.length)];
+
+            ApiClient.Response response;
+            try {
+                response = scenario.execute(client);
+            } catch (RuntimeException ex) {
+                // Respuesta inesperada (p. ej. JSON inválido): cuenta como error
+                response = new ApiClient.Response(-1, new byte[0], System.nanoTime() - startedAt);
+            }
+
+            // Solo se miden las peticiones iniciadas después del warmup
+            if (response != null && startedAt >= measureFrom) {
+                recorder.record(scenario, response);
+            }
+        }
+    }
+
+    /**
+     * Arreglo con cada escenario repetido según su peso: elegir un índice al azar respeta la mezcla
+     */
+    private static Scenario[] weightedWheel(LoadTestConfig config) {
+        List<Scenario> wheel = new ArrayList<>();
+        config.mix().forEach((scenario, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                wheel.add(scenario);
+            }
+        });
+        return wheel.toArray(Scenario[]::new);
+    }
+}
@@ -0,0 +1,136 @@
+package ec.edu.ups.icc.fundamentos01.loadtest;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Escenarios de la mezcla de carga; cada ejecución es una petición HTTP medida
+ */
+enum Scenario {
+
+    LOGIN("login") {
+        @Override
+        ApiClient.Response execute(LoadClient client) {
+            ApiClient.Session session = client.session();
+            return client.api().post("/auth/login", null,
+                    Map.of("email", session.email(), "password", session.password()));
+        }
+    },
+
+    SEARCH("search") {
+        @Override
+        ApiClient.Response execute(LoadClient client) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            StringBuilder path = new StringBuilder("/api/products/search?size=10")
+                    .append("&page=").append(random.nextInt(3))
+                    .append("&name=").append(client.catalog().randomSearchTerm(random));
+            if (random.nextBoolean()) {
+                path.append("&minPrice=").append(random.nextInt(10, 200))
+                        .append("&maxPrice=").append(random.nextInt(500, 2000));
+            }
+            if (random.nextInt(4) == 0) {
+                path.append("&categoryId=").append(client.catalog().randomCategoryId(random));
+            }
+            return client.api().get(path.toString(), client.token());
+        }
+    },
+
+    SLICE("slice") {
+        @Override
+        ApiClient.Response execute(LoadClient client) {
+            int page = ThreadLocalRandom.current().nextInt(client.catalog().browsablePages());
+            return client.api().get("/api/products/slice?size=10&page=" + page, client.token());
+        }
+    },
+
+    PAGINATED("paginated") {
+        @Override
+        ApiClient.Response execute(LoadClient client) {
+            int page = ThreadLocalRandom.current().nextInt(client.catalog().browsablePages());
+            return client.api().get("/api/products/paginated?size=10&page=" + page, client.token());
+        }
+    },
+
+    USER_PRODUCTS("user") {
+        @Override
+        ApiClient.Response execute(LoadClient client) {
+            long userId = client.catalog().randomUserId(ThreadLocalRandom.current());
+            return client.api().get("/api/products/user/" + userId + "?size=10&page=0", client.token());
+        }
+    },
+
+    PRODUCT_BY_ID("byId") {
+        @Override
+        ApiClient.Response execute(LoadClient client) {
+            long productId = client.catalog().randomProductId(ThreadLocalRandom.current());
+            return client.api().get("/api/products/" + productId, client.token());
+        }
+    },
+
+    CREATE("create") {
+        @Override
+        ApiClient.Response execute(LoadClient client) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Map<String, Object> body = Map.of(
+                    "name", "LoadTest " + client.session().userId() + "-" + random.nextLong(Long.MAX_VALUE),
+                    "price", random.nextInt(10, 2000) + 0.99,
+                    "description", "Producto creado por la prueba de carga",
+                    "userId", client.session().userId(),
+                    "categoryIds", Set.of(client.catalog().randomCategoryId(random)));
+
+            ApiClient.Response response = client.api().post("/api/products", client.token(), body);
+            if (response.status() == 201) {
+                JsonNode created = client.api().json(response);
+                client.remember(created.get("id").asLong());
+            }
+            return response;
+        }
+    },
+
+    UPDATE("update") {
+        @Override
+        ApiClient.Response execute(LoadClient client) {
+            Long productId = client.randomOwnedProduct();
+            if (productId == null) {
+                // Aún no creó productos propios: la petición se omite y no se mide
+                return null;
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Map<String, Object> body = Map.of(
+                    "name", "LoadTest " + client.session().userId() + "-" + random.nextLong(Long.MAX_VALUE),
+                    "price", random.nextInt(10, 2000) + 0.49,
+                    "description", "Producto actualizado por la prueba de carga",
+                    "categoryIds", Set.of(client.catalog().randomCategoryId(random)));
+            return client.api().put("/api/products/" + productId, client.token(), body);
+        }
+    };
+
+    static final String DEFAULT_MIX = "search=30,slice=15,paginated=15,user=10,byId=15,login=3,create=6,update=6";
+
+    private final String key;
+
+    Scenario(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    /**
+     * Ejecuta una petición del escenario; null si no aplica para este cliente todavía
+     */
+    abstract ApiClient.Response execute(LoadClient client);
+
+    static Scenario fromKey(String key) {
+        for (Scenario scenario : values()) {
+            if (scenario.key.equalsIgnoreCase(key)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Escenario desconocido: " + key);
+    }
+}
@@ -2,8 +2,10 @@ package ec.edu.ups.icc.fundamentos01;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
 
 @SpringBootApplication
+@EnableCaching
 public class Fundamentos01Application {
 
 	public static void main(String[] args) {
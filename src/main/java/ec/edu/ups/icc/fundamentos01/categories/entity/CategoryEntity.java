@@ -3,16 +3,26 @@ package ec.edu.ups.icc.fundamentos01.categories.entity;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import ec.edu.ups.icc.fundamentos01.core.entities.BaseModel;
 import ec.edu.ups.icc.fundamentos01.products.models.ProductEntity;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
 
+/**
+ * Casi no cambia y se lee en cada alta/edición de producto: caché de segundo nivel
+ * READ_WRITE: las escrituras por el EntityManager actualizan la región al confirmar
+ */
 @Entity
 @Table(name = "categories")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categories")
 public class CategoryEntity extends BaseModel {
 
     @Column(nullable = false, unique = true, length = 120)
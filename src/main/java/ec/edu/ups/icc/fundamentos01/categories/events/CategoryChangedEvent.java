@@ -0,0 +1,7 @@
+package ec.edu.ups.icc.fundamentos01.categories.events;
+
+/**
+ * Se publica al crear o modificar una categoría
+ */
+public record CategoryChangedEvent(Long categoryId) {
+}
@@ -1,15 +1,28 @@
 package ec.edu.ups.icc.fundamentos01.categories.reporitory;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import org.springframework.stereotype.Repository;
 
 import ec.edu.ups.icc.fundamentos01.categories.entity.CategoryEntity;
+import jakarta.persistence.QueryHint;
 
 @Repository
-public interface CategoryRepository extends JpaRepository<CategoryEntity, Long> {
+public interface CategoryRepository extends JpaRepository<CategoryEntity, Long>, CategoryRepositoryCustom {
+
+        /**
+         * Listado completo desde la caché de consultas: guarda los ids del resultado
+         * y las entidades salen de la región "categories"
+         * Hibernate lo invalida en cualquier escritura sobre la tabla categories
+         */
+        @Override
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+        List<CategoryEntity> findAll();
 
         /**
          * Verifica si ya existe una categoría con ese nombre
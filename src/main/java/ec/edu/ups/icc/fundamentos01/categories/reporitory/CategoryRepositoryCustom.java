@@ -0,0 +1,17 @@
+package ec.edu.ups.icc.fundamentos01.categories.reporitory;
+
+import java.util.Collection;
+import java.util.Map;
+
+import ec.edu.ups.icc.fundamentos01.categories.entity.CategoryEntity;
+
+/**
+ * Consultas de categorías que necesitan la Session de Hibernate
+ */
+public interface CategoryRepositoryCustom {
+
+    /**
+     * Resuelve un conjunto de ids; los que no existen simplemente no aparecen en el mapa
+     */
+    Map<Long, CategoryEntity> findAllByIdInChunks(Collection<Long> ids);
+}
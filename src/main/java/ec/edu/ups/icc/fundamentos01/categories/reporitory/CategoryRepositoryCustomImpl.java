@@ -0,0 +1,46 @@
+package ec.edu.ups.icc.fundamentos01.categories.reporitory;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.Session;
+
+import ec.edu.ups.icc.fundamentos01.categories.entity.CategoryEntity;
+import jakarta.persistence.EntityManager;
+
+class CategoryRepositoryCustomImpl implements CategoryRepositoryCustom {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final EntityManager entityManager;
+
+    CategoryRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Carga por ids (findMultiple): primero el contexto de persistencia y la caché de
+     * segundo nivel ("categories"); solo los ids ausentes van a la BD, en un IN por bloque.
+     * findAllById es una consulta JPQL y siempre iría a la BD.
+     */
+    @Override
+    public Map<Long, CategoryEntity> findAllByIdInChunks(Collection<Long> ids) {
+        Session session = entityManager.unwrap(Session.class);
+        List<Long> distinct = ids.stream().distinct().toList();
+        Map<Long, CategoryEntity> byId = new HashMap<>();
+
+        for (int from = 0; from < distinct.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = distinct.subList(from, Math.min(from + CHUNK_SIZE, distinct.size()));
+
+            // Un id inexistente deja null en su posición
+            for (CategoryEntity category : session.findMultiple(CategoryEntity.class, chunk)) {
+                if (category != null) {
+                    byId.put(category.getId(), category);
+                }
+            }
+        }
+        return byId;
+    }
+}
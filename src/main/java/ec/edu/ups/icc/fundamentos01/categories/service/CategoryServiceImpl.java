@@ -2,11 +2,14 @@ package ec.edu.ups.icc.fundamentos01.categories.service;
 
 import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import ec.edu.ups.icc.fundamentos01.categories.dtos.CategoryCreateDto;
 import ec.edu.ups.icc.fundamentos01.categories.dtos.CategoryResponseDto;
 import ec.edu.ups.icc.fundamentos01.categories.entity.CategoryEntity;
+import ec.edu.ups.icc.fundamentos01.categories.events.CategoryChangedEvent;
 import ec.edu.ups.icc.fundamentos01.categories.mappers.CategoryMapper;
 import ec.edu.ups.icc.fundamentos01.categories.reporitory.CategoryRepository;
 
@@ -14,12 +17,16 @@ import ec.edu.ups.icc.fundamentos01.categories.reporitory.CategoryRepository;
 public class CategoryServiceImpl implements CategoryService {
 
     private CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CategoryServiceImpl(CategoryRepository categoryRepository) {
+    public CategoryServiceImpl(CategoryRepository categoryRepository,
+                               ApplicationEventPublisher eventPublisher) {
         this.categoryRepository = categoryRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<CategoryResponseDto> findAll() {
         return categoryRepository.findAll().stream().map(CategoryMapper::toResponseDto).toList();
     }
@@ -41,6 +48,7 @@ public class CategoryServiceImpl implements CategoryService {
         categoryEntity.setDescription(createDto.description);
 
         var saved = categoryRepository.save(categoryEntity);
+        eventPublisher.publishEvent(new CategoryChangedEvent(saved.getId()));
 
         return CategoryMapper.toResponseDto(saved);
     }
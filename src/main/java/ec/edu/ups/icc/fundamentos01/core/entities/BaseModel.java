@@ -6,14 +6,29 @@ import jakarta.persistence.*;
 @MappedSuperclass
 public abstract class BaseModel {
 
+    /**
+     * Secuencia compartida con asignación en bloques (pooled, 50 ids por nextval)
+     * IDENTITY obliga a un INSERT inmediato por fila y desactiva el batching JDBC
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "base_model_seq")
+    @SequenceGenerator(name = "base_model_seq", sequenceName = "base_model_seq", allocationSize = 50)
     private Long id;
 
+    // No se actualiza: un merge de una entidad reconstruida (dominio -> entidad) no la borra
+    @Column(updatable = false)
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private boolean deleted;
 
+    /**
+     * Bloqueo optimista: cada UPDATE incrementa la versión y uno hecho sobre
+     * una versión anterior falla en lugar de sobrescribir el cambio ajeno
+     */
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     @PrePersist
     protected void onCreate() {
         this.deleted = false;
@@ -44,4 +59,15 @@ public abstract class BaseModel {
     public boolean isDeleted() {
         return deleted;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Solo para reconstruir una entidad desacoplada (dominio -> entidad) antes del merge
+     */
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
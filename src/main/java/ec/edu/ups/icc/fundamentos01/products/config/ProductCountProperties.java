@@ -0,0 +1,46 @@
+package ec.edu.ups.icc.fundamentos01.products.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Estrategia de conteo de los listados paginados (products.count.*)
+ */
+@Configuration
+@ConfigurationProperties(prefix = "products.count")
+public class ProductCountProperties {
+
+    // Hasta esta estimación de filas se ejecuta COUNT(*); por encima se devuelve la estimación
+    private long exactThreshold = 10000;
+
+    // Vida de un total en caché (también se invalida con cada escritura de productos)
+    private Duration cacheTtl = Duration.ofSeconds(30);
+
+    private long cacheMaxEntries = 10000;
+
+    public long getExactThreshold() {
+        return exactThreshold;
+    }
+
+    public void setExactThreshold(long exactThreshold) {
+        this.exactThreshold = exactThreshold;
+    }
+
+    public Duration getCacheTtl() {
+        return cacheTtl;
+    }
+
+    public void setCacheTtl(Duration cacheTtl) {
+        this.cacheTtl = cacheTtl;
+    }
+
+    public long getCacheMaxEntries() {
+        return cacheMaxEntries;
+    }
+
+    public void setCacheMaxEntries(long cacheMaxEntries) {
+        this.cacheMaxEntries = cacheMaxEntries;
+    }
+}
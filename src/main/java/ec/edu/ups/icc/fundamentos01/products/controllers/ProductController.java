@@ -1,22 +1,32 @@
 package ec.edu.ups.icc.fundamentos01.products.controllers;
 
+import java.io.IOException;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 
 
 import ec.edu.ups.icc.fundamentos01.products.dtos.CreateProductDto;
+import ec.edu.ups.icc.fundamentos01.products.dtos.ProductBulkImportResultDto;
+import ec.edu.ups.icc.fundamentos01.products.dtos.ProductCursorPageDto;
 import ec.edu.ups.icc.fundamentos01.products.dtos.UpdateProductDto;
 import ec.edu.ups.icc.fundamentos01.products.dtos.ProductResponseDto;
+import ec.edu.ups.icc.fundamentos01.products.services.ProductBulkImportService;
+import ec.edu.ups.icc.fundamentos01.products.services.ProductExportService;
 import ec.edu.ups.icc.fundamentos01.products.services.ProductService;
+import ec.edu.ups.icc.fundamentos01.products.utils.ProductETag;
 import ec.edu.ups.icc.fundamentos01.security.services.UserDetailsImpl;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
@@ -24,9 +34,15 @@ import jakarta.validation.Valid;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductBulkImportService bulkImportService;
+    private final ProductExportService exportService;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService,
+                             ProductBulkImportService bulkImportService,
+                             ProductExportService exportService) {
         this.productService = productService;
+        this.bulkImportService = bulkImportService;
+        this.exportService = exportService;
     }
 
     // ============== ENDPOINTS DE CREACIÓN ==============
@@ -44,6 +60,23 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    /**
+     * Importación masiva de productos - SOLO ADMIN
+     * POST /api/products/bulk
+     *
+     * Cuerpo: NDJSON (un CreateProductDto por línea) o arreglo JSON
+     * Se lee en streaming y se guarda por lotes; responde con el resumen y errores por fila
+     */
+    @PostMapping(value = "/bulk", consumes = {
+            MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE,
+            "application/x-ndjson" })
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ProductBulkImportResultDto> importBulk(HttpServletRequest request) throws IOException {
+        ProductBulkImportResultDto result = bulkImportService.importProducts(request.getInputStream());
+        return ResponseEntity.ok(result);
+    }
+
     // ============== ENDPOINTS DE CONSULTA ==============
 
     /**
@@ -57,6 +90,28 @@ public class ProductController {
         return ResponseEntity.ok(products);
     }
 
+    /**
+     * Exportar el catálogo completo en streaming - SOLO ADMIN
+     * GET /api/products/export?format=ndjson|csv
+     *
+     * Alternativa a GET /api/products para catálogos grandes:
+     * las filas se escriben a medida que se leen, sin armar una lista en memoria
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "ndjson") String format) {
+
+        ProductExportService.Format exportFormat = ProductExportService.Format.from(format);
+        StreamingResponseBody body = output -> exportService.export(exportFormat, output);
+
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"products." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
     /**
      * Listar productos con paginación básica
      * GET /api/products/paginated?page=0&size=10&sort=name,asc
@@ -85,9 +140,29 @@ public class ProductController {
         return ResponseEntity.ok(products);
     }
 
+    /**
+     * Listar productos con paginación por cursor (keyset)
+     * GET /api/products/slice/cursor?size=10&sort=price,desc
+     * GET /api/products/slice/cursor?cursor=<nextCursor>&size=10
+     *
+     * No usa OFFSET: el costo es el mismo en la página 1 y en la 2000
+     */
+    @GetMapping("/slice/cursor")
+    public ResponseEntity<ProductCursorPageDto> findAllKeyset(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sort) {
+
+        ProductCursorPageDto products = productService.findAllKeyset(cursor, size, sort);
+        return ResponseEntity.ok(products);
+    }
+
     /**
      * Listar productos con filtros y paginación
      * GET /api/products/search?name=laptop&minPrice=500&page=0&size=5
+     *
+     * name usa búsqueda de texto completo (nombre y descripción, por prefijo)
+     * sort=relevance ordena por coincidencia: /search?name=lap gam&sort=relevance
      */
     @GetMapping("/search")
     public ResponseEntity<Page<ProductResponseDto>> findWithFilters(
@@ -105,14 +180,50 @@ public class ProductController {
         return ResponseEntity.ok(products);
     }
 
+    /**
+     * Listar productos con filtros y paginación por cursor (keyset)
+     * GET /api/products/search/cursor?name=laptop&size=10&sort=createdAt,desc
+     *
+     * name usa la misma búsqueda de texto completo que /search (nombre y descripción, por prefijo)
+     * Los filtros deben repetirse en cada página junto con el cursor
+     */
+    @GetMapping("/search/cursor")
+    public ResponseEntity<ProductCursorPageDto> findWithFiltersKeyset(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sort) {
+
+        ProductCursorPageDto products = productService.findWithFiltersKeyset(
+                name, minPrice, maxPrice, categoryId, cursor, size, sort);
+
+        return ResponseEntity.ok(products);
+    }
+
     /**
      * Obtener producto por ID
      * GET /api/products/{id}
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ProductResponseDto> findById(@PathVariable("id") String id) {
-        ProductResponseDto product = productService.findById(Long.parseLong(id));
-        return ResponseEntity.ok(product);
+    public ResponseEntity<ProductResponseDto> findById(
+            @PathVariable("id") String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        Long productId = Long.parseLong(id);
+
+        // Revalidación: solo se consultan las versiones; 304 sin cargar ni serializar el producto
+        // Se leen antes que el producto: un cambio entre ambas lecturas deja un ETag anterior
+        // al cuerpo y el cliente solo vuelve a pedirlo, nunca se queda con un cuerpo viejo
+        String etag = productService.findETag(productId);
+        if (ifNoneMatch != null && ProductETag.matchesNoneMatch(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        ProductResponseDto product = productService.findById(productId);
+        return ResponseEntity.ok().eTag(etag).body(product);
     }
 
     /**
@@ -150,24 +261,37 @@ public class ProductController {
 
     // ============== ENDPOINTS DE MODIFICACIÓN ==============
 
-   @PutMapping("/{id}")
-public ResponseEntity<ProductResponseDto> update(
-        @PathVariable Long id,
-        @Valid @RequestBody UpdateProductDto dto,
-        @AuthenticationPrincipal UserDetailsImpl currentUser) {
+    /**
+     * Actualizar producto (owner, ADMIN o MODERATOR)
+     * PUT /api/products/{id}
+     * If-Match: ETag de GET opcional; si el producto cambió desde esa versión -> 412
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<ProductResponseDto> update(
+            @PathVariable Long id,
+            @Valid @RequestBody UpdateProductDto dto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @AuthenticationPrincipal UserDetailsImpl currentUser) {
 
-    ProductResponseDto updated = productService.update(id, dto, currentUser);
-    return ResponseEntity.ok(updated);
-}
+        ProductResponseDto updated = productService.update(id, dto, currentUser,
+                ProductETag.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(productService.findETag(id)).body(updated);
+    }
 
-@DeleteMapping("/{id}")
-public ResponseEntity<Void> delete(
-        @PathVariable Long id,
-        @AuthenticationPrincipal UserDetailsImpl currentUser) {
+    /**
+     * Eliminar producto (owner, ADMIN o MODERATOR)
+     * DELETE /api/products/{id}
+     * If-Match: ETag de GET opcional; si el producto cambió desde esa versión -> 412
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @AuthenticationPrincipal UserDetailsImpl currentUser) {
 
-    productService.delete(id, currentUser);
-    return ResponseEntity.noContent().build();
-}
+        productService.delete(id, currentUser, ProductETag.expectedVersion(ifMatch));
+        return ResponseEntity.noContent().build();
+    }
 
 
 }
\ No newline at end of file
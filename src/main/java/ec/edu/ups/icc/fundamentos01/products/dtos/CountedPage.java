@@ -0,0 +1,24 @@
+package ec.edu.ups.icc.fundamentos01.products.dtos;
+
+import java.util.List;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Página cuyo total puede ser exacto (COUNT) o estimado (estadísticas de Postgres)
+ * En el JSON se agrega "totalExact": con false, totalElements y totalPages son aproximados
+ */
+public class CountedPage<T> extends PageImpl<T> {
+
+    private final boolean totalExact;
+
+    public CountedPage(List<T> content, Pageable pageable, long total, boolean totalExact) {
+        super(content, pageable, total);
+        this.totalExact = totalExact;
+    }
+
+    public boolean isTotalExact() {
+        return totalExact;
+    }
+}
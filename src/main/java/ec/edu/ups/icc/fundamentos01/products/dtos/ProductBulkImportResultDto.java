@@ -0,0 +1,38 @@
+package ec.edu.ups.icc.fundamentos01.products.dtos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Resultado de una importación masiva de productos
+ * Los errores se reportan por fila (numeración desde 1) sin abortar el resto
+ */
+@JsonPropertyOrder({ "processed", "created", "failed", "errorsTruncated", "errors" })
+public class ProductBulkImportResultDto {
+
+    public int processed;
+    public int created;
+    public int failed;
+
+    // true si hubo más errores que los incluidos en la lista
+    public boolean errorsTruncated;
+
+    public List<RowErrorDto> errors = new ArrayList<>();
+
+    public static class RowErrorDto {
+        public int row;
+        public String name;
+        public String message;
+
+        public RowErrorDto() {
+        }
+
+        public RowErrorDto(int row, String name, String message) {
+            this.row = row;
+            this.name = name;
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package ec.edu.ups.icc.fundamentos01.products.dtos;
+
+/**
+ * Proyección (producto, categoría) para armar las categorías
+ * de una página de ProductListRow en una sola consulta
+ */
+public record ProductCategoryRow(
+        Long productId,
+        Long categoryId,
+        String categoryName) {
+}
@@ -0,0 +1,24 @@
+package ec.edu.ups.icc.fundamentos01.products.dtos;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+@JsonPropertyOrder({
+        "content",
+        "size",
+        "hasNext",
+        "nextCursor"
+})
+public class ProductCursorPageDto {
+
+    public List<ProductResponseDto> content;
+
+    public int size;
+
+    public boolean hasNext;
+
+    // Token opaco para pedir la siguiente página (null si no hay más)
+    public String nextCursor;
+
+}
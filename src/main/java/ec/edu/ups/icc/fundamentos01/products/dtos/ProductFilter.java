@@ -0,0 +1,21 @@
+package ec.edu.ups.icc.fundamentos01.products.dtos;
+
+/**
+ * Filtros opcionales de búsqueda de productos
+ * Un valor null (o name en blanco) significa "sin filtro" y no genera predicado
+ */
+public record ProductFilter(Long ownerId, String name, Double minPrice, Double maxPrice, Long categoryId) {
+
+    public static ProductFilter of(String name, Double minPrice, Double maxPrice, Long categoryId) {
+        return new ProductFilter(null, name, minPrice, maxPrice, categoryId);
+    }
+
+    public static ProductFilter ofOwner(Long ownerId, String name, Double minPrice, Double maxPrice,
+                                        Long categoryId) {
+        return new ProductFilter(ownerId, name, minPrice, maxPrice, categoryId);
+    }
+
+    public boolean hasName() {
+        return name != null && !name.isBlank();
+    }
+}
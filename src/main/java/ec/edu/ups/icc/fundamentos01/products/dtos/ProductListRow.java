@@ -0,0 +1,18 @@
+package ec.edu.ups.icc.fundamentos01.products.dtos;
+
+/**
+ * Proyección de solo lectura para listados de productos
+ *
+ * Se construye con un constructor expression en JPQL:
+ * solo trae las columnas que ProductResponseDto necesita,
+ * sin entidades administradas ni snapshots de dirty-checking
+ */
+public record ProductListRow(
+        Long id,
+        String name,
+        Double price,
+        String description,
+        Long ownerId,
+        String ownerName,
+        Long version) {
+}
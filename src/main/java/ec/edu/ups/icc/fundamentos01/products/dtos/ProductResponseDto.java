@@ -3,6 +3,7 @@ package ec.edu.ups.icc.fundamentos01.products.dtos;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 
 import ec.edu.ups.icc.fundamentos01.categories.dtos.CategoryResponseDto;
@@ -33,6 +34,10 @@ public class ProductResponseDto {
     public LocalDateTime createdAt;
     public LocalDateTime updatedAt;
 
+    // Origen del ETag (encabezado, no cuerpo)
+    @JsonIgnore
+    public Long version;
+
  
 
     public static class UserSummaryDto {
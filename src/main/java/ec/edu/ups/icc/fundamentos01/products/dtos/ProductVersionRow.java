@@ -0,0 +1,12 @@
+package ec.edu.ups.icc.fundamentos01.products.dtos;
+
+/**
+ * Proyección (versión del producto, del owner y de una categoría) para el ETag
+ * de GET /api/products/{id}; una fila por categoría (categoryId null si no tiene)
+ */
+public record ProductVersionRow(
+        long productVersion,
+        Long ownerVersion,
+        Long categoryId,
+        Long categoryVersion) {
+}
@@ -0,0 +1,21 @@
+package ec.edu.ups.icc.fundamentos01.products.events;
+
+/**
+ * Se publica al crear, modificar o eliminar productos
+ * productId = null indica un cambio de varios productos (importación masiva)
+ * deletedOwnerId: dueño eliminado; sus productos se borraron en cascada (también es masivo)
+ */
+public record ProductChangedEvent(Long productId, Long deletedOwnerId) {
+
+    public ProductChangedEvent(Long productId) {
+        this(productId, null);
+    }
+
+    public static ProductChangedEvent bulk() {
+        return new ProductChangedEvent(null, null);
+    }
+
+    public static ProductChangedEvent ownerDeleted(Long ownerId) {
+        return new ProductChangedEvent(null, ownerId);
+    }
+}
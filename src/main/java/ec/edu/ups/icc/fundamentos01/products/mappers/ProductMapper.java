@@ -1,7 +1,11 @@
 package ec.edu.ups.icc.fundamentos01.products.mappers;
 
+import java.util.List;
+
+import ec.edu.ups.icc.fundamentos01.categories.dtos.CategoryResponseDto;
 import ec.edu.ups.icc.fundamentos01.products.dtos.CreateProductDto;
 import ec.edu.ups.icc.fundamentos01.products.dtos.UpdateProductDto;
+import ec.edu.ups.icc.fundamentos01.products.dtos.ProductListRow;
 import ec.edu.ups.icc.fundamentos01.products.dtos.ProductResponseDto;
 import ec.edu.ups.icc.fundamentos01.products.models.Product;
 
@@ -33,4 +37,22 @@ public class ProductMapper {
 
         return dto;
     }
+
+    // Proyección de solo lectura -> DTO (sin pasar por la entidad)
+    public static ProductResponseDto toResponse(ProductListRow row, List<CategoryResponseDto> categories) {
+        ProductResponseDto dto = new ProductResponseDto();
+        dto.id = row.id();
+        dto.name = row.name();
+        dto.price = row.price();
+        dto.description = row.description();
+
+        ProductResponseDto.UserSummaryDto ownerDto = new ProductResponseDto.UserSummaryDto();
+        ownerDto.id = row.ownerId();
+        ownerDto.name = row.ownerName();
+
+        dto.user = ownerDto;
+        dto.categories = categories;
+        dto.version = row.version();
+        return dto;
+    }
 }
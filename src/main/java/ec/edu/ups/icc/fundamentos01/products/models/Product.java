@@ -16,6 +16,9 @@ public class Product {
     private String description;
     private String createdAt;
 
+    // Versión leída de la BD; viaja a la entidad para el bloqueo optimista del merge
+    private long version;
+
     // Constructor privado para forzar uso de factory methods
     public Product(long id, String name, Double price, String description) {
         this.id = id;
@@ -56,6 +59,7 @@ public class Product {
         ProductEntity entity = new ProductEntity();
         if (this.id != null && this.id > 0) {
             entity.setId(this.id);
+            entity.setVersion(this.version);
         }
 
         entity.setName(this.name);
@@ -100,6 +104,7 @@ public class Product {
                 entity.getPrice(),
                 entity.getDescription());
         product.id = entity.getId();
+        product.version = entity.getVersion();
 
         return product;
     }
@@ -0,0 +1,115 @@
+package ec.edu.ups.icc.fundamentos01.products.repository;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import ec.edu.ups.icc.fundamentos01.products.dtos.ProductFilter;
+
+/**
+ * Estimación de filas con las estadísticas del planificador de Postgres (sin recorrer la tabla)
+ *
+ * - Sin filtros: pg_class.reltuples (actualizado por ANALYZE / autovacuum)
+ * - Con filtros: "Plan Rows" del nodo raíz de EXPLAIN sobre la misma condición del listado
+ *
+ * Devuelve UNKNOWN cuando no hay estadísticas o la estimación falla; el llamador cuenta exacto.
+ */
+@Repository
+public class ProductCountEstimator {
+
+    public static final long UNKNOWN = -1;
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductCountEstimator.class);
+
+    private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\"\\s*:\\s*(\\d+)");
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public ProductCountEstimator(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * Filas de products según la última ANALYZE (-1 en tablas nunca analizadas)
+     */
+    public long estimateAll() {
+        try {
+            Long rows = jdbc.queryForObject(
+                    "SELECT CAST(reltuples AS bigint) FROM pg_class WHERE oid = 'products'::regclass",
+                    new MapSqlParameterSource(), Long.class);
+            return rows != null && rows > 0 ? rows : UNKNOWN;
+        } catch (DataAccessException ex) {
+            logger.debug("No se pudo leer reltuples de products: {}", ex.getMessage());
+            return UNKNOWN;
+        }
+    }
+
+    /**
+     * Misma condición que ProductSpecifications.matching, en SQL
+     */
+    public long estimate(ProductFilter filter) {
+        StringBuilder sql = new StringBuilder("SELECT 1 FROM products p WHERE TRUE");
+        MapSqlParameterSource params = new MapSqlParameterSource();
+
+        if (filter.ownerId() != null) {
+            sql.append(" AND p.user_id = :ownerId");
+            params.addValue("ownerId", filter.ownerId());
+        }
+        if (filter.hasName()) {
+            sql.append(" AND LOWER(p.name) LIKE :name");
+            params.addValue("name", "%" + filter.name().toLowerCase() + "%");
+        }
+        if (filter.minPrice() != null) {
+            sql.append(" AND p.price >= :minPrice");
+            params.addValue("minPrice", filter.minPrice());
+        }
+        if (filter.maxPrice() != null) {
+            sql.append(" AND p.price <= :maxPrice");
+            params.addValue("maxPrice", filter.maxPrice());
+        }
+        if (filter.categoryId() != null) {
+            sql.append(" AND EXISTS (SELECT 1 FROM product_categories pc")
+                    .append(" WHERE pc.product_id = p.id AND pc.category_id = :categoryId)");
+            params.addValue("categoryId", filter.categoryId());
+        }
+
+        return explainRows(sql.toString(), params);
+    }
+
+    /**
+     * Misma condición que searchIds / searchIdsByRelevance (ProductRepository.FULL_TEXT_FILTERS)
+     */
+    public long estimateSearch(String query, Double minPrice, Double maxPrice, Long categoryId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("query", query)
+                .addValue("minPrice", minPrice)
+                .addValue("maxPrice", maxPrice)
+                .addValue("categoryId", categoryId);
+
+        return explainRows("SELECT 1 FROM products p WHERE " + ProductRepository.FULL_TEXT_FILTERS, params);
+    }
+
+    // ============== HELPERS ==============
+
+    private long explainRows(String sql, MapSqlParameterSource params) {
+        try {
+            String plan = jdbc.queryForObject("EXPLAIN (FORMAT JSON) " + sql, params, String.class);
+            if (plan == null) {
+                return UNKNOWN;
+            }
+
+            // El primer "Plan Rows" es el del nodo raíz: filas que devolvería la consulta
+            Matcher matcher = PLAN_ROWS.matcher(plan);
+            return matcher.find() ? Long.parseLong(matcher.group(1)) : UNKNOWN;
+        } catch (DataAccessException ex) {
+            logger.debug("No se pudo estimar con EXPLAIN: {}", ex.getMessage());
+            return UNKNOWN;
+        }
+    }
+}
@@ -1,20 +1,33 @@
 package ec.edu.ups.icc.fundamentos01.products.repository;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import ec.edu.ups.icc.fundamentos01.products.dtos.ProductCategoryRow;
+import ec.edu.ups.icc.fundamentos01.products.dtos.ProductListRow;
+import ec.edu.ups.icc.fundamentos01.products.dtos.ProductVersionRow;
 import ec.edu.ups.icc.fundamentos01.products.models.ProductEntity;
+import jakarta.persistence.QueryHint;
 
 @Repository
-public interface ProductRepository extends JpaRepository<ProductEntity, Long> {
+public interface ProductRepository extends JpaRepository<ProductEntity, Long>, ProductRepositoryCustom {
 
         // ============== CONSULTAS BÁSICAS (HEREDA AUTOMÁTICAMENTE) ==============
         // Page<ProductEntity> findAll(Pageable pageable); //- Viene de JpaRepository
@@ -22,8 +35,116 @@ public interface ProductRepository extends JpaRepository<ProductEntity, Long> {
 
         Optional<ProductEntity> findByName(String name);
 
+        /**
+         * Versiones de todo lo que muestra el producto (ETag): responde If-None-Match sin cargarlo
+         * El cuerpo incluye el nombre del owner y de las categorías, que no cambian p.version
+         */
+        @Query("SELECT new ec.edu.ups.icc.fundamentos01.products.dtos.ProductVersionRow(" +
+                        "p.version, o.version, c.id, c.version) " +
+                        "FROM ProductEntity p LEFT JOIN p.owner o LEFT JOIN p.categories c " +
+                        "WHERE p.id = :id")
+        List<ProductVersionRow> findVersionRowsById(@Param("id") Long id);
+
+        /**
+         * Nombres ya registrados dentro de un conjunto (validación de unicidad en lote)
+         */
+        @Query("SELECT p.name FROM ProductEntity p WHERE p.name IN :names")
+        List<String> findExistingNames(@Param("names") Collection<String> names);
+
+        /**
+         * Productos de un usuario con owner y categorías en la misma consulta
+         * El filtro es sobre owner (ToOne), así que el fetch de categorías no se recorta
+         */
+        @EntityGraph(attributePaths = { "owner", "categories" })
         List<ProductEntity> findByOwnerId(Long userId);
 
+        // ============== LECTURA SIN N+1 (ENTITY GRAPHS) ==============
+
+        /**
+         * Todos los productos con owner y categorías cargados en una sola consulta
+         */
+        @EntityGraph(attributePaths = { "owner", "categories" })
+        @Query("SELECT p FROM ProductEntity p")
+        List<ProductEntity> findAllWithOwnerAndCategories();
+
+        /**
+         * Fase 2 de la lectura en dos pasos: carga owner y categorías de un lote de ids
+         * No se puede paginar un fetch de colección en SQL (Hibernate lo haría en memoria),
+         * por eso primero se pagina por ids y luego se cargan las relaciones aquí.
+         */
+        @EntityGraph(attributePaths = { "owner", "categories" })
+        @Query("SELECT p FROM ProductEntity p WHERE p.id IN :ids")
+        List<ProductEntity> findWithOwnerAndCategoriesByIdIn(@Param("ids") Collection<Long> ids);
+
+        /**
+         * Igual que findWithOwnerAndCategoriesByIdIn pero respetando el orden de la fase 1
+         */
+        default List<ProductEntity> findWithRelationsInOrder(List<Long> ids) {
+                if (ids.isEmpty()) {
+                        return List.of();
+                }
+
+                Map<Long, ProductEntity> byId = new HashMap<>();
+                for (ProductEntity product : findWithOwnerAndCategoriesByIdIn(ids)) {
+                        byId.put(product.getId(), product);
+                }
+
+                List<ProductEntity> ordered = new ArrayList<>(ids.size());
+                for (Long id : ids) {
+                        ProductEntity product = byId.get(id);
+                        if (product != null) {
+                                ordered.add(product);
+                        }
+                }
+                return ordered;
+        }
+
+        // ============== PROYECCIONES DE SOLO LECTURA ==============
+
+        /**
+         * Columnas de ProductResponseDto sin hidratar entidades
+         * El owner es ToOne, así que el JOIN no multiplica filas
+         */
+        String LIST_ROW = "SELECT new ec.edu.ups.icc.fundamentos01.products.dtos.ProductListRow(" +
+                        "p.id, p.name, p.price, p.description, o.id, o.name, p.version) " +
+                        "FROM ProductEntity p JOIN p.owner o ";
+
+        /**
+         * Filas de una página sin COUNT: el total lo resuelve ProductCountService
+         */
+        @Query(LIST_ROW)
+        List<ProductListRow> findRowsBy(Pageable pageable);
+
+        @Query(LIST_ROW)
+        Slice<ProductListRow> findRowsSliceBy(Pageable pageable);
+
+        @Query(LIST_ROW +
+                        "WHERE EXISTS (SELECT c.id FROM p.categories c WHERE c.id = :categoryId) " +
+                        "ORDER BY p.id")
+        List<ProductListRow> findRowsByCategoryId(@Param("categoryId") Long categoryId);
+
+        /**
+         * Segunda consulta del pipeline: categorías de un lote de productos
+         */
+        @Query("SELECT new ec.edu.ups.icc.fundamentos01.products.dtos.ProductCategoryRow(" +
+                        "p.id, c.id, c.name) " +
+                        "FROM ProductEntity p JOIN p.categories c " +
+                        "WHERE p.id IN :productIds")
+        List<ProductCategoryRow> findCategoryRowsByProductIdIn(@Param("productIds") Collection<Long> productIds);
+
+        /**
+         * Catálogo completo como cursor de base de datos (exportación)
+         * - fetchSize: el driver trae filas de a 500 en lugar de todo el resultado
+         * - readOnly: sin snapshots para dirty checking
+         * Debe consumirse dentro de una transacción y cerrarse al terminar
+         */
+        @QueryHints({
+                        @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+                        @QueryHint(name = "org.hibernate.readOnly", value = "true")
+        })
+        @Query("SELECT p FROM ProductEntity p JOIN FETCH p.owner ORDER BY p.id")
+        Stream<ProductEntity> streamAllWithOwner();
+
         // List<ProductEntity> findByCategoryId(Long categoryId);
 
         /**
@@ -54,25 +175,6 @@ public interface ProductRepository extends JpaRepository<ProductEntity, Long> {
         List<ProductEntity> findByAllCategories(@Param("categoryIds") List<Long> categoryIds,
                         @Param("categoryCount") long categoryCount);
 
-        /**
-         * Consulta personalizada: productos de un usuario con filtros opcionales
-         * Permite filtrar por nombre, precio mínimo/máximo y categoría
-         */
-        @Query("SELECT DISTINCT p FROM ProductEntity p " +
-                        "LEFT JOIN p.categories c " +
-                        "WHERE p.owner.id = :userId " +
-                        "AND (COALESCE(:name, '') = '' OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))) " +
-                        "AND (:minPrice IS NULL OR p.price >= :minPrice) " +
-                        "AND (:maxPrice IS NULL OR p.price <= :maxPrice) " +
-                        "AND (:categoryId IS NULL OR c.id = :categoryId)")
-
-        List<ProductEntity> findByOwnerIdWithFilters(
-                        @Param("userId") Long userId,
-                        @Param("name") String name,
-                        @Param("minPrice") Double minPrice,
-                        @Param("maxPrice") Double maxPrice,
-                        @Param("categoryId") Long categoryId);
-
         // ============== CONSULTAS PERSONALIZADAS CON PAGINACIÓN ==============
 
         /**
@@ -84,42 +186,128 @@ public interface ProductRepository extends JpaRepository<ProductEntity, Long> {
 
         // ============== CONSULTA COMPLEJA CON FILTROS Y PAGINACIÓN ==============
 
+        // Filtros dinámicos (nombre, precio, categoría, owner): ver ProductSpecifications
+        // y ProductRepositoryCustom.findIds; solo se generan los predicados presentes
+
+        // ============== BÚSQUEDA DE TEXTO COMPLETO (NATIVA) ==============
+
         /**
-         * Busca productos con filtros opcionales y paginación
-         * Todos los parámetros son opcionales excepto el Pageable
-         * NOTA: Usa LEFT JOIN p.categories para relación Many-to-Many
+         * Filtros de la búsqueda de texto completo sobre products.search_vector (índice GIN)
+         * :query es una tsquery ya armada por ProductSearchQuery ("laptop:* & gam:*")
+         * Los CAST evitan que Postgres no pueda inferir el tipo de parámetros nulos
          */
-        @Query("SELECT DISTINCT p FROM ProductEntity p " +
-                        "LEFT JOIN p.categories c " +
-                        "WHERE (COALESCE(:name, '') = '' OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))) " +
-                        "AND (:minPrice IS NULL OR p.price >= :minPrice) " +
-                        "AND (:maxPrice IS NULL OR p.price <= :maxPrice) " +
-                        "AND (:categoryId IS NULL OR c.id = :categoryId)")
-        Page<ProductEntity> findWithFilters(
-                        @Param("name") String name,
+        String FULL_TEXT_FILTERS = "p.search_vector @@ to_tsquery('spanish', :query) " +
+                        "AND (CAST(:minPrice AS double precision) IS NULL OR p.price >= CAST(:minPrice AS double precision)) " +
+                        "AND (CAST(:maxPrice AS double precision) IS NULL OR p.price <= CAST(:maxPrice AS double precision)) " +
+                        "AND (CAST(:categoryId AS bigint) IS NULL OR EXISTS " +
+                        "(SELECT 1 FROM product_categories pc WHERE pc.product_id = p.id " +
+                        "AND pc.category_id = CAST(:categoryId AS bigint))) ";
+
+        /**
+         * Ids ordenados por relevancia (ts_rank) y luego por id
+         * El Pageable debe venir sin Sort: el orden está fijo en la consulta
+         */
+        @Query(value = "SELECT p.id FROM products p WHERE " + FULL_TEXT_FILTERS +
+                        "ORDER BY ts_rank(p.search_vector, to_tsquery('spanish', :query)) DESC, p.id",
+                        nativeQuery = true)
+        List<Long> searchIdsByRelevance(
+                        @Param("query") String query,
                         @Param("minPrice") Double minPrice,
                         @Param("maxPrice") Double maxPrice,
                         @Param("categoryId") Long categoryId,
                         Pageable pageable);
 
         /**
-         * Busca productos de un usuario con filtros opcionales y paginación
-         * NOTA: Usa LEFT JOIN p.categories para relación Many-to-Many
+         * Ids que coinciden con la búsqueda, ordenados según el Sort del Pageable
+         * NOTA: consulta nativa, el Sort debe usar nombres de columna (created_at, no createdAt)
          */
-        @Query("SELECT DISTINCT p FROM ProductEntity p " +
-                        "LEFT JOIN p.categories c " +
-                        "WHERE p.owner.id = :userId " +
-                        "AND (COALESCE(:name, '') = '' OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))) " +
-                        "AND (:minPrice IS NULL OR p.price >= :minPrice) " +
-                        "AND (:maxPrice IS NULL OR p.price <= :maxPrice) " +
-                        "AND (:categoryId IS NULL OR c.id = :categoryId)")
-        Page<ProductEntity> findByUserIdWithFilters(
-                        @Param("userId") Long userId,
-                        @Param("name") String name,
+        @Query(value = "SELECT p.id FROM products p WHERE " + FULL_TEXT_FILTERS,
+                        nativeQuery = true)
+        List<Long> searchIds(
+                        @Param("query") String query,
                         @Param("minPrice") Double minPrice,
                         @Param("maxPrice") Double maxPrice,
                         @Param("categoryId") Long categoryId,
                         Pageable pageable);
 
+        /**
+         * Total exacto de la búsqueda (lo invoca ProductCountService solo cuando hace falta)
+         */
+        @Query(value = "SELECT COUNT(*) FROM products p WHERE " + FULL_TEXT_FILTERS,
+                        nativeQuery = true)
+        long countSearch(
+                        @Param("query") String query,
+                        @Param("minPrice") Double minPrice,
+                        @Param("maxPrice") Double maxPrice,
+                        @Param("categoryId") Long categoryId);
+
+        // ============== ESCRITURAS CON OWNERSHIP (UNA SENTENCIA) ==============
+
+        /**
+         * UPDATE con el predicado de ownership en el mismo WHERE: sin lectura previa ni merge
+         * ownerId = null: sin restricción (ADMIN / MODERATOR)
+         * expectedVersion = null: sin If-Match
+         * Devuelve 0 si el producto no existe, pertenece a otro usuario o cambió de versión
+         * Las sentencias masivas no disparan @PreUpdate ni @Version: se actualizan explícitamente
+         */
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query("UPDATE ProductEntity p SET p.name = :name, p.price = :price, " +
+                        "p.description = :description, p.updatedAt = :updatedAt, " +
+                        "p.version = p.version + 1 " +
+                        "WHERE p.id = :id AND (:ownerId IS NULL OR p.owner.id = :ownerId) " +
+                        "AND (:expectedVersion IS NULL OR p.version = :expectedVersion)")
+        int updateIfOwned(
+                        @Param("id") Long id,
+                        @Param("ownerId") Long ownerId,
+                        @Param("expectedVersion") Long expectedVersion,
+                        @Param("name") String name,
+                        @Param("price") Double price,
+                        @Param("description") String description,
+                        @Param("updatedAt") LocalDateTime updatedAt);
+
+        /**
+         * Reemplaza las categorías del producto en una sentencia:
+         * borra las que ya no están y agrega las nuevas (las que se mantienen no se tocan)
+         * categoryIds no puede estar vacío (UpdateProductDto exige al menos una)
+         * native.spaces: solo se invalida lo asociado a product_categories en la caché L2
+         */
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "product_categories"))
+        @Query(value = "WITH unlinked AS (" +
+                        "DELETE FROM product_categories " +
+                        "WHERE product_id = :productId AND category_id NOT IN (:categoryIds)) " +
+                        "INSERT INTO product_categories (product_id, category_id) " +
+                        "SELECT :productId, c.id FROM categories c WHERE c.id IN (:categoryIds) " +
+                        "ON CONFLICT DO NOTHING",
+                        nativeQuery = true)
+        int replaceCategories(
+                        @Param("productId") Long productId,
+                        @Param("categoryIds") Collection<Long> categoryIds);
+
+        /**
+         * DELETE con ownership en una sentencia; el CTE borra antes los vínculos
+         * con categorías (la FK se verifica al final de la sentencia completa)
+         * ownerId = null: sin restricción (ADMIN / MODERATOR)
+         * expectedVersion = null: sin If-Match
+         */
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "products"))
+        @Query(value = "WITH unlinked AS (" +
+                        "DELETE FROM product_categories pc USING products p " +
+                        "WHERE pc.product_id = p.id AND p.id = :id " +
+                        "AND (CAST(:ownerId AS bigint) IS NULL OR p.user_id = CAST(:ownerId AS bigint)) " +
+                        "AND (CAST(:expectedVersion AS bigint) IS NULL OR p.version = CAST(:expectedVersion AS bigint))) " +
+                        "DELETE FROM products p WHERE p.id = :id " +
+                        "AND (CAST(:ownerId AS bigint) IS NULL OR p.user_id = CAST(:ownerId AS bigint)) " +
+                        "AND (CAST(:expectedVersion AS bigint) IS NULL OR p.version = CAST(:expectedVersion AS bigint))",
+                        nativeQuery = true)
+        int deleteIfOwned(
+                        @Param("id") Long id,
+                        @Param("ownerId") Long ownerId,
+                        @Param("expectedVersion") Long expectedVersion);
+
+        // ============== PAGINACIÓN KEYSET (SEEK) ==============
+
+        // Consultas seek con solo los predicados presentes: ver ProductRepositoryCustom.seekIds
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,38 @@
+package ec.edu.ups.icc.fundamentos01.products.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import ec.edu.ups.icc.fundamentos01.products.dtos.ProductFilter;
+import ec.edu.ups.icc.fundamentos01.products.models.ProductEntity;
+import ec.edu.ups.icc.fundamentos01.products.utils.ProductCursor;
+
+/**
+ * Consultas de ids con filtros dinámicos (implementación en ProductRepositoryCustomImpl)
+ */
+public interface ProductRepositoryCustom {
+
+    /**
+     * Ids de una página (fase 1), sin conteo: el total lo resuelve ProductCountService
+     */
+    List<Long> findIds(Specification<ProductEntity> spec, Pageable pageable);
+
+    /**
+     * COUNT exacto con los mismos predicados de la especificación
+     */
+    long countIds(Specification<ProductEntity> spec);
+
+    /**
+     * Todos los ids que cumplen la especificación, en el orden indicado
+     */
+    List<Long> findIds(Specification<ProductEntity> spec, Sort sort);
+
+    /**
+     * Ids de una página keyset: filtros presentes y posición del cursor (primera página sin ella)
+     * El nombre se busca con texto completo, igual que /api/products/search
+     */
+    List<Long> seekIds(ProductFilter filter, ProductCursor position, int limit);
+}
@@ -0,0 +1,185 @@
+package ec.edu.ups.icc.fundamentos01.products.repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import ec.edu.ups.icc.fundamentos01.products.dtos.ProductFilter;
+import ec.edu.ups.icc.fundamentos01.products.models.ProductEntity;
+import ec.edu.ups.icc.fundamentos01.products.utils.ProductCursor;
+import ec.edu.ups.icc.fundamentos01.products.utils.ProductSearchQuery;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    ProductRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Long> findIds(Specification<ProductEntity> spec, Pageable pageable) {
+
+        TypedQuery<Long> query = idQuery(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+
+        return query.getResultList();
+    }
+
+    @Override
+    public List<Long> findIds(Specification<ProductEntity> spec, Sort sort) {
+        return idQuery(spec, sort).getResultList();
+    }
+
+    /**
+     * Conteo sin ORDER BY ni joins de relaciones: solo los mismos predicados
+     */
+    @Override
+    public long countIds(Specification<ProductEntity> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<ProductEntity> root = query.from(ProductEntity.class);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        query.select(cb.count(root));
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    /**
+     * SQL nativo con los filtros presentes y la tupla del cursor
+     *
+     * name se busca como en /search: texto completo por prefijo sobre search_vector (índice GIN);
+     * solo un texto sin palabras (p. ej. "!!") cae en LIKE, igual que ProductSpecifications
+     *
+     * La posición se compara como fila, (p.price, p.id) > (:lastValue, :lastId): Postgres la
+     * resuelve como un rango del índice (price, id) de V4 y lee solo las filas de la página.
+     * Sin "(:x IS NULL OR ...)": con sentencias preparadas en el servidor (prepareThreshold)
+     * el plan genérico de esos OR no puede convertirse en un rango del índice.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Long> seekIds(ProductFilter filter, ProductCursor position, int limit) {
+        StringJoiner where = new StringJoiner(" AND ", " WHERE ", "").setEmptyValue("");
+        Map<String, Object> params = new HashMap<>();
+
+        if (filter.ownerId() != null) {
+            where.add("p.user_id = :ownerId");
+            params.put("ownerId", filter.ownerId());
+        }
+
+        if (filter.hasName()) {
+            String tsQuery = ProductSearchQuery.toPrefixTsQuery(filter.name());
+            if (tsQuery != null) {
+                where.add("p.search_vector @@ to_tsquery('spanish', :query)");
+                params.put("query", tsQuery);
+            } else {
+                where.add("LOWER(p.name) LIKE :name");
+                params.put("name", "%" + filter.name().toLowerCase() + "%");
+            }
+        }
+
+        if (filter.minPrice() != null) {
+            where.add("p.price >= :minPrice");
+            params.put("minPrice", filter.minPrice());
+        }
+
+        if (filter.maxPrice() != null) {
+            where.add("p.price <= :maxPrice");
+            params.put("maxPrice", filter.maxPrice());
+        }
+
+        if (filter.categoryId() != null) {
+            where.add("EXISTS (SELECT 1 FROM product_categories pc "
+                    + "WHERE pc.product_id = p.id AND pc.category_id = :categoryId)");
+            params.put("categoryId", filter.categoryId());
+        }
+
+        String column = seekColumn(position.getProperty());
+        String direction = position.isDescending() ? " DESC" : " ASC";
+
+        // lastId = null: primera página, sin predicado de posición
+        if (position.getLastId() != null) {
+            String comparison = position.isDescending() ? " < " : " > ";
+            if (column.equals("p.id")) {
+                where.add("p.id" + comparison + ":lastId");
+            } else {
+                where.add("(" + column + ", p.id)" + comparison + "(:lastValue, :lastId)");
+                params.put("lastValue", seekValue(position));
+            }
+            params.put("lastId", position.getLastId());
+        }
+
+        String orderBy = column.equals("p.id")
+                ? " ORDER BY p.id" + direction
+                : " ORDER BY " + column + direction + ", p.id" + direction;
+
+        // LIMIT literal (entero validado en el servicio): con LIMIT parametrizado el plan genérico
+        // supone que se lee el 10% de las filas y puede preferir un seq scan con sort
+        Query query = entityManager.createNativeQuery(
+                "SELECT p.id FROM products p" + where + orderBy + " LIMIT " + limit, Long.class);
+        params.forEach(query::setParameter);
+
+        return query.getResultList();
+    }
+
+    // ============== HELPERS ==============
+
+    /**
+     * Columna (o expresión indexada en V4) de cada propiedad de orden
+     * updatedAt es nullable: se ordena por COALESCE(updated_at, created_at)
+     */
+    private String seekColumn(String property) {
+        return switch (property) {
+            case "name" -> "p.name";
+            case "price" -> "p.price";
+            case "createdAt" -> "p.created_at";
+            case "updatedAt" -> "COALESCE(p.updated_at, p.created_at)";
+            default -> "p.id";
+        };
+    }
+
+    private Object seekValue(ProductCursor position) {
+        return switch (position.getProperty()) {
+            case "price" -> position.lastValueAsDouble();
+            case "createdAt", "updatedAt" -> position.lastValueAsDateTime();
+            default -> position.getLastValue();
+        };
+    }
+
+    private TypedQuery<Long> idQuery(Specification<ProductEntity> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<ProductEntity> root = query.from(ProductEntity.class);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        query.select(root.get("id"));
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+
+        return entityManager.createQuery(query);
+    }
+}
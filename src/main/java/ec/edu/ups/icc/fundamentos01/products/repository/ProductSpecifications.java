@@ -0,0 +1,62 @@
+package ec.edu.ups.icc.fundamentos01.products.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import ec.edu.ups.icc.fundamentos01.categories.entity.CategoryEntity;
+import ec.edu.ups.icc.fundamentos01.products.dtos.ProductFilter;
+import ec.edu.ups.icc.fundamentos01.products.models.ProductEntity;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+/**
+ * Filtros dinámicos de productos (Criteria API)
+ *
+ * Solo se agregan los predicados de los filtros presentes: sin "(:x IS NULL OR ...)",
+ * el planificador ve una consulta concreta y puede usar el índice que corresponde.
+ * La categoría se evalúa con EXISTS (semi-join): no duplica filas ni requiere DISTINCT.
+ */
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    public static Specification<ProductEntity> matching(ProductFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (filter.ownerId() != null) {
+                predicates.add(cb.equal(root.get("owner").get("id"), filter.ownerId()));
+            }
+
+            if (filter.hasName()) {
+                predicates.add(cb.like(cb.lower(root.get("name")),
+                        "%" + filter.name().toLowerCase() + "%"));
+            }
+
+            if (filter.minPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), filter.minPrice()));
+            }
+
+            if (filter.maxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), filter.maxPrice()));
+            }
+
+            if (filter.categoryId() != null) {
+                // EXISTS (SELECT c.id FROM p.categories c WHERE c.id = :categoryId)
+                Subquery<Long> inCategory = query.subquery(Long.class);
+                Root<ProductEntity> product = inCategory.correlate(root);
+                Join<ProductEntity, CategoryEntity> category = product.join("categories");
+                inCategory.select(category.get("id"))
+                        .where(cb.equal(category.get("id"), filter.categoryId()));
+                predicates.add(cb.exists(inCategory));
+            }
+
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
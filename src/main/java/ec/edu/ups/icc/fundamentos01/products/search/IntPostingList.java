@@ -0,0 +1,65 @@
+package ec.edu.ups.icc.fundamentos01.products.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Lista de postings con enteros primitivos, ordenada y sin duplicados
+ * Evita el boxing de List<Integer> y permite volcar a BitSet para intersecciones
+ */
+final class IntPostingList {
+
+    private int[] docs = new int[4];
+    private int size;
+
+    /**
+     * Inserta manteniendo el orden (los docs nuevos casi siempre van al final)
+     */
+    void add(int doc) {
+        if (size > 0 && docs[size - 1] < doc) {
+            append(doc);
+            return;
+        }
+
+        int position = Arrays.binarySearch(docs, 0, size, doc);
+        if (position >= 0) {
+            return;
+        }
+
+        int insertAt = -position - 1;
+        ensureCapacity();
+        System.arraycopy(docs, insertAt, docs, insertAt + 1, size - insertAt);
+        docs[insertAt] = doc;
+        size++;
+    }
+
+    void remove(int doc) {
+        int position = Arrays.binarySearch(docs, 0, size, doc);
+        if (position < 0) {
+            return;
+        }
+        System.arraycopy(docs, position + 1, docs, position, size - position - 1);
+        size--;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void addTo(BitSet target) {
+        for (int i = 0; i < size; i++) {
+            target.set(docs[i]);
+        }
+    }
+
+    private void append(int doc) {
+        ensureCapacity();
+        docs[size++] = doc;
+    }
+
+    private void ensureCapacity() {
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, docs.length * 2);
+        }
+    }
+}
@@ -0,0 +1,544 @@
+package ec.edu.ups.icc.fundamentos01.products.search;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ec.edu.ups.icc.fundamentos01.categories.entity.CategoryEntity;
+import ec.edu.ups.icc.fundamentos01.products.dtos.ProductCategoryRow;
+import ec.edu.ups.icc.fundamentos01.products.events.ProductChangedEvent;
+import ec.edu.ups.icc.fundamentos01.products.models.ProductEntity;
+import ec.edu.ups.icc.fundamentos01.products.repository.ProductRepository;
+import ec.edu.ups.icc.fundamentos01.products.utils.ProductSearchQuery;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Índice invertido en memoria para la búsqueda de productos (products.search.engine=memory)
+ *
+ * - Términos de name y description (minúsculas, sin tildes) -> postings de enteros primitivos
+ * - Los términos están en un TreeMap: una búsqueda por prefijo es un rango del mapa
+ * - Precio, categorías y fechas se guardan por documento para filtrar y ordenar sin ir a la BD
+ * - Se reconstruye al iniciar y se actualiza desde create/update/delete al confirmar la transacción;
+ *   al eliminar un usuario (cascada) se retiran sus productos con ProductChangedEvent.ownerDeleted
+ * - La página se arma con un heap acotado a offset + size: no se ordenan todas las coincidencias
+ *
+ * La base de datos solo se consulta para la página final de ids.
+ * Mientras no está listo (reconstrucción inicial) el servicio usa la búsqueda en BD.
+ */
+@Component
+@ConditionalOnProperty(name = "products.search.engine", havingValue = "memory")
+public class ProductSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    // Productos por bloque al reconstruir (categorías en una consulta IN + clear)
+    private static final int REBUILD_CHUNK_SIZE = 1000;
+
+    private final ProductRepository productRepo;
+    private final EntityManager entityManager;
+    private final TransactionTemplate rebuildTransaction;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Datos vigentes; se reemplazan completos al terminar una reconstrucción
+    private IndexData data = new IndexData();
+    private volatile boolean ready;
+
+    // Cambios recibidos durante una reconstrucción: se reaplican sobre el índice nuevo
+    private List<IndexChange> pendingDuringRebuild;
+
+    public ProductSearchIndex(ProductRepository productRepo,
+                              EntityManager entityManager,
+                              PlatformTransactionManager transactionManager) {
+        this.productRepo = productRepo;
+        this.entityManager = entityManager;
+        // Sin readOnly: con réplica (datasource.replica.url) iría a ella, y lo confirmado en el primario
+        // justo antes de la reconstrucción no estaría ni en su instantánea ni en pendingDuringRebuild.
+        // streamAllWithOwner ya carga las entidades como solo lectura (sin snapshots)
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Posiciones ocupadas por documentos, incluidos los huecos aún no compactados
+     */
+    int documentSlots() {
+        lock.readLock().lock();
+        try {
+            return data.slots();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ============== BÚSQUEDA ==============
+
+    /**
+     * Ids de la página solicitada; todas las palabras deben coincidir por prefijo
+     *
+     * @param byRelevance true: coincidencias en el nombre primero; false: orden del Sort del Pageable
+     */
+    public Page<Long> search(String text, Double minPrice, Double maxPrice, Long categoryId,
+                             Pageable pageable, boolean byRelevance) {
+
+        List<String> terms = normalizedTerms(text);
+
+        Comparator<IndexedProduct> order = byRelevance
+                ? relevanceOrder(terms)
+                : sortOrder(pageable.getSort());
+
+        lock.readLock().lock();
+        try {
+            TopK top = new TopK(order, pageable.getOffset() + pageable.getPageSize());
+            int total = data.match(terms, minPrice, maxPrice, categoryId, top);
+
+            List<IndexedProduct> best = top.sorted();
+            int from = (int) Math.min(pageable.getOffset(), best.size());
+
+            List<Long> ids = new ArrayList<>(best.size() - from);
+            for (int i = from; i < best.size(); i++) {
+                ids.add(best.get(i).id());
+            }
+            return new PageImpl<>(ids, pageable, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ============== ACTUALIZACIÓN INCREMENTAL ==============
+
+    /**
+     * Indexa (o reemplaza) el producto cuando la transacción actual confirma
+     * Los datos se copian ahora: la entidad puede quedar desacoplada después
+     */
+    public void indexAfterCommit(ProductEntity entity, Collection<CategoryEntity> categories) {
+        IndexedProduct product = IndexedProduct.of(entity,
+                categories.stream().mapToLong(CategoryEntity::getId).toArray());
+        afterCommit(() -> apply(target -> target.upsert(product)));
+    }
+
+    public void removeAfterCommit(Long productId) {
+        afterCommit(() -> apply(target -> target.remove(productId)));
+    }
+
+    /**
+     * Productos borrados en cascada con su dueño: no pasan por removeAfterCommit
+     * Se ejecuta al confirmar la transacción del borrado
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.deletedOwnerId() != null) {
+            long ownerId = event.deletedOwnerId();
+            apply(target -> target.removeOwner(ownerId));
+        }
+    }
+
+    // ============== RECONSTRUCCIÓN ==============
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        IndexData rebuilt = new IndexData();
+        try {
+            rebuildTransaction.executeWithoutResult(status -> loadAll(rebuilt));
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.error("No se pudo reconstruir el índice de búsqueda en memoria", ex);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild.forEach(change -> change.accept(rebuilt));
+            pendingDuringRebuild = null;
+            data = rebuilt;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        logger.info("Índice de búsqueda en memoria: {} productos, {} términos en {} ms",
+                rebuilt.size(), rebuilt.termCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void loadAll(IndexData target) {
+        List<ProductEntity> chunk = new ArrayList<>(REBUILD_CHUNK_SIZE);
+
+        try (Stream<ProductEntity> products = productRepo.streamAllWithOwner()) {
+            products.forEach(product -> {
+                chunk.add(product);
+                if (chunk.size() >= REBUILD_CHUNK_SIZE) {
+                    loadChunk(target, chunk);
+                    chunk.clear();
+                }
+            });
+        }
+
+        if (!chunk.isEmpty()) {
+            loadChunk(target, chunk);
+        }
+    }
+
+    private void loadChunk(IndexData target, List<ProductEntity> chunk) {
+        Map<Long, List<Long>> categoriesByProduct = new HashMap<>();
+        List<Long> ids = chunk.stream().map(ProductEntity::getId).toList();
+        for (ProductCategoryRow row : productRepo.findCategoryRowsByProductIdIn(ids)) {
+            categoriesByProduct.computeIfAbsent(row.productId(), id -> new ArrayList<>()).add(row.categoryId());
+        }
+
+        for (ProductEntity product : chunk) {
+            long[] categoryIds = categoriesByProduct.getOrDefault(product.getId(), List.of())
+                    .stream().mapToLong(Long::longValue).toArray();
+            target.upsert(IndexedProduct.of(product, categoryIds));
+        }
+
+        entityManager.clear();
+    }
+
+    // ============== HELPERS ==============
+
+    /**
+     * Aplica un cambio al índice vigente y, si hay reconstrucción en curso, lo encola
+     */
+    private void apply(IndexChange change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(data);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private Comparator<IndexedProduct> relevanceOrder(List<String> terms) {
+        Map<IndexedProduct, Integer> scores = new IdentityHashMap<>();
+        return Comparator.<IndexedProduct>comparingInt(
+                        product -> -scores.computeIfAbsent(product, p -> p.score(terms)))
+                .thenComparingLong(IndexedProduct::id);
+    }
+
+    private Comparator<IndexedProduct> sortOrder(Sort sort) {
+        Comparator<IndexedProduct> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<IndexedProduct> next = switch (order.getProperty()) {
+                case "name" -> Comparator.comparing(IndexedProduct::name, String.CASE_INSENSITIVE_ORDER);
+                case "price" -> Comparator.comparingDouble(IndexedProduct::price);
+                case "createdAt" -> Comparator.comparing(IndexedProduct::createdAt,
+                        Comparator.nullsFirst(Comparator.naturalOrder()));
+                case "updatedAt" -> Comparator.comparing(IndexedProduct::updatedAt,
+                        Comparator.nullsFirst(Comparator.naturalOrder()));
+                default -> Comparator.comparingLong(IndexedProduct::id);
+            };
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+
+        Comparator<IndexedProduct> byId = Comparator.comparingLong(IndexedProduct::id);
+        return comparator == null ? byId : comparator.thenComparing(byId);
+    }
+
+    /**
+     * Mismo tokenizado que la búsqueda en BD, sin tildes ("canción" == "cancion")
+     */
+    static List<String> normalizedTerms(String text) {
+        return ProductSearchQuery.tokenize(stripAccents(text)).stream()
+                .limit(ProductSearchQuery.maxTerms())
+                .toList();
+    }
+
+    private static String stripAccents(String text) {
+        if (text == null) {
+            return null;
+        }
+        return Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+    }
+
+    @FunctionalInterface
+    private interface IndexChange {
+        void accept(IndexData target);
+    }
+
+    /**
+     * Las k mejores coincidencias según el orden: heap con la peor en la cima, O(n log k)
+     */
+    private static final class TopK implements Consumer<IndexedProduct> {
+
+        private final Comparator<IndexedProduct> order;
+        private final int limit;
+        private final PriorityQueue<IndexedProduct> heap;
+
+        TopK(Comparator<IndexedProduct> order, long limit) {
+            this.order = order;
+            this.limit = (int) Math.min(limit, Integer.MAX_VALUE - 1);
+            this.heap = new PriorityQueue<>(Math.min(this.limit, 1024) + 1, order.reversed());
+        }
+
+        @Override
+        public void accept(IndexedProduct product) {
+            if (heap.size() < limit) {
+                heap.add(product);
+            } else if (order.compare(product, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(product);
+            }
+        }
+
+        List<IndexedProduct> sorted() {
+            List<IndexedProduct> result = new ArrayList<>(heap);
+            result.sort(order);
+            return result;
+        }
+    }
+
+    // ============== ESTRUCTURAS ==============
+
+    /**
+     * Datos por documento (doc = posición interna, distinta del id del producto)
+     */
+    private record IndexedProduct(long id, Long ownerId, String name, double price,
+                                  LocalDateTime createdAt, LocalDateTime updatedAt,
+                                  long[] categoryIds, Set<String> nameTerms, Set<String> terms) {
+
+        static IndexedProduct of(ProductEntity entity, long[] categoryIds) {
+            Set<String> nameTerms = new HashSet<>(normalizedTermsOf(entity.getName()));
+            Set<String> terms = new HashSet<>(nameTerms);
+            terms.addAll(normalizedTermsOf(entity.getDescription()));
+
+            LocalDateTime updatedAt = entity.getUpdatedAt() != null ? entity.getUpdatedAt() : entity.getCreatedAt();
+
+            // getId() de un proxy LAZY no lo inicializa
+            Long ownerId = entity.getOwner() != null ? entity.getOwner().getId() : null;
+
+            return new IndexedProduct(entity.getId(), ownerId, entity.getName(),
+                    entity.getPrice() != null ? entity.getPrice() : 0d,
+                    entity.getCreatedAt(), updatedAt, categoryIds, nameTerms, terms);
+        }
+
+        private static List<String> normalizedTermsOf(String text) {
+            return ProductSearchQuery.tokenize(stripAccents(text));
+        }
+
+        boolean hasCategory(long categoryId) {
+            for (long id : categoryIds) {
+                if (id == categoryId) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * 2 puntos por palabra que coincide en el nombre, 1 si solo coincide en la descripción
+         */
+        int score(List<String> queryTerms) {
+            int score = 0;
+            for (String queryTerm : queryTerms) {
+                boolean inName = nameTerms.stream().anyMatch(term -> term.startsWith(queryTerm));
+                score += inName ? 2 : 1;
+            }
+            return score;
+        }
+    }
+
+    /**
+     * Índice propiamente dicho; no es thread-safe (lo protege el lock exterior)
+     */
+    private static final class IndexData {
+
+        // Se compacta cuando los huecos superan este mínimo y la mitad de docs
+        private static final int COMPACTION_MIN_REMOVED = 1024;
+
+        private final List<IndexedProduct> docs = new ArrayList<>();
+        private final Map<Long, Integer> docByProductId = new HashMap<>();
+        private final NavigableMap<String, IntPostingList> postings = new TreeMap<>();
+
+        // Posiciones de docs liberadas por remove (null)
+        private int removed;
+
+        void upsert(IndexedProduct product) {
+            Integer existing = docByProductId.get(product.id());
+            int doc;
+            if (existing != null) {
+                doc = existing;
+                removePostings(doc, docs.get(doc));
+                docs.set(doc, product);
+            } else {
+                doc = docs.size();
+                docs.add(product);
+                docByProductId.put(product.id(), doc);
+            }
+
+            for (String term : product.terms()) {
+                postings.computeIfAbsent(term, t -> new IntPostingList()).add(doc);
+            }
+        }
+
+        void remove(Long productId) {
+            Integer doc = docByProductId.remove(productId);
+            if (doc == null) {
+                return;
+            }
+            removePostings(doc, docs.get(doc));
+            docs.set(doc, null);
+            removed++;
+
+            if (removed >= COMPACTION_MIN_REMOVED && removed * 2 > docs.size()) {
+                compact();
+            }
+        }
+
+        void removeOwner(long ownerId) {
+            List<Long> owned = docs.stream()
+                    .filter(product -> product != null && product.ownerId() != null
+                            && product.ownerId() == ownerId)
+                    .map(IndexedProduct::id)
+                    .toList();
+            owned.forEach(this::remove);
+        }
+
+        /**
+         * Reasigna posiciones consecutivas a los documentos vivos y rehace los postings
+         */
+        private void compact() {
+            List<IndexedProduct> live = docs.stream().filter(Objects::nonNull).toList();
+            docs.clear();
+            docByProductId.clear();
+            postings.clear();
+            removed = 0;
+            live.forEach(this::upsert);
+        }
+
+        /**
+         * Intersección de las palabras (cada una = unión de los términos con ese prefijo)
+         * y luego filtros de precio y categoría sobre los datos del documento
+         * Entrega cada coincidencia al consumidor y devuelve cuántas hubo
+         */
+        int match(List<String> terms, Double minPrice, Double maxPrice, Long categoryId,
+                  Consumer<IndexedProduct> sink) {
+            BitSet candidates = null;
+
+            for (String term : terms) {
+                BitSet termDocs = new BitSet(docs.size());
+                for (IntPostingList list : postings.subMap(term, true, term + Character.MAX_VALUE, true).values()) {
+                    list.addTo(termDocs);
+                }
+
+                if (candidates == null) {
+                    candidates = termDocs;
+                } else {
+                    candidates.and(termDocs);
+                }
+                if (candidates.isEmpty()) {
+                    return 0;
+                }
+            }
+
+            if (candidates == null) {
+                return 0;
+            }
+
+            int matches = 0;
+            for (int doc = candidates.nextSetBit(0); doc >= 0; doc = candidates.nextSetBit(doc + 1)) {
+                IndexedProduct product = docs.get(doc);
+                if (product == null
+                        || (minPrice != null && product.price() < minPrice)
+                        || (maxPrice != null && product.price() > maxPrice)
+                        || (categoryId != null && !product.hasCategory(categoryId))) {
+                    continue;
+                }
+                sink.accept(product);
+                matches++;
+            }
+            return matches;
+        }
+
+        int size() {
+            return docByProductId.size();
+        }
+
+        int slots() {
+            return docs.size();
+        }
+
+        int termCount() {
+            return postings.size();
+        }
+
+        private void removePostings(int doc, IndexedProduct product) {
+            for (String term : product.terms()) {
+                IntPostingList list = postings.get(term);
+                if (list != null) {
+                    list.remove(doc);
+                    if (list.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+        }
+    }
+}
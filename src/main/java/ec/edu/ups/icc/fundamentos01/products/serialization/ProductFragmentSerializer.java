@@ -0,0 +1,31 @@
+package ec.edu.ups.icc.fundamentos01.products.serialization;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ser.std.StdSerializer;
+
+import ec.edu.ups.icc.fundamentos01.products.dtos.ProductResponseDto;
+
+/**
+ * Serializador de ProductResponseDto que escribe el fragmento en caché
+ * Sin fragmento (DTO sin id o sin versión) escribe el DTO completo con el writer sin módulo
+ */
+class ProductFragmentSerializer extends StdSerializer<ProductResponseDto> {
+
+    private final ProductJsonFragments fragments;
+
+    ProductFragmentSerializer(ProductJsonFragments fragments) {
+        super(ProductResponseDto.class);
+        this.fragments = fragments;
+    }
+
+    @Override
+    public void serialize(ProductResponseDto dto, JsonGenerator generator, SerializationContext context)
+            throws JacksonException {
+
+        SerializedString fragment = fragments.fragmentFor(dto);
+        generator.writeRawValue(fragment != null ? fragment : fragments.serialize(dto));
+    }
+}
@@ -0,0 +1,144 @@
+package ec.edu.ups.icc.fundamentos01.products.serialization;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.JacksonModule;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.module.SimpleModule;
+
+import ec.edu.ups.icc.fundamentos01.categories.events.CategoryChangedEvent;
+import ec.edu.ups.icc.fundamentos01.products.dtos.ProductResponseDto;
+import ec.edu.ups.icc.fundamentos01.products.events.ProductChangedEvent;
+
+/**
+ * Fragmentos JSON ya serializados de ProductResponseDto (products.json-fragments.enabled=true)
+ *
+ * - Clave: id + versión del producto + campos presentes (cada endpoint arma el DTO distinto)
+ * - Valor: SerializedString, que guarda sus bytes UTF-8 después de la primera escritura
+ * - Jackson escribe el fragmento con writeRawValue: en un listado, cada producto es una copia de bytes
+ *
+ * La versión cubre los cambios del propio producto; el nombre del owner y de las categorías
+ * no cambian la versión, por eso también se invalida con los eventos de escritura.
+ * Un fragmento serializado antes de una invalidación no se guarda (contador de generación).
+ * Los DTO armados sin versión (p. ej. en UserServiceImpl) se serializan de forma normal.
+ */
+@Component
+@ConditionalOnProperty(name = "products.json-fragments.enabled", havingValue = "true")
+public class ProductJsonFragments {
+
+    // Red de seguridad: las invalidaciones llegan por eventos
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private final Cache<FragmentKey, SerializedString> fragments;
+
+    // Se incrementa en cada invalidación: un fragmento armado antes de ella ya no se guarda
+    private final AtomicLong generation = new AtomicLong();
+
+    // Sin el módulo de fragmentos: serializa el DTO completo cuando no está en caché
+    private final ObjectWriter plainWriter = JsonMapper.builder().build().writerFor(ProductResponseDto.class);
+
+    public ProductJsonFragments() {
+        this.fragments = Caffeine.newBuilder()
+                .maximumSize(50_000)
+                .expireAfterWrite(TTL)
+                .build();
+    }
+
+    /**
+     * Módulo para el JsonMapper de Jackson 3 que usa MVC (ver JacksonConfig)
+     */
+    public JacksonModule module() {
+        SimpleModule module = new SimpleModule("ProductJsonFragments");
+        module.addSerializer(ProductResponseDto.class, new ProductFragmentSerializer(this));
+        return module;
+    }
+
+    /**
+     * Fragmento del DTO; null si no se puede identificar (sin id o sin versión)
+     */
+    SerializedString fragmentFor(ProductResponseDto dto) {
+        if (dto.id == null || dto.version == null) {
+            return null;
+        }
+
+        FragmentKey key = FragmentKey.of(dto);
+        SerializedString cached = fragments.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        // El DTO pudo armarse con datos ya invalidados (p. ej. nombre anterior del owner)
+        long observed = generation.get();
+        SerializedString serialized = serialize(dto);
+        fragments.asMap().compute(key, (ignored, existing) ->
+                existing != null ? existing : generation.get() == observed ? serialized : null);
+        return serialized;
+    }
+
+    /**
+     * DTO completo sin pasar por la caché
+     */
+    SerializedString serialize(ProductResponseDto dto) {
+        return new SerializedString(plainWriter.writeValueAsString(dto));
+    }
+
+    long size() {
+        fragments.cleanUp();
+        return fragments.estimatedSize();
+    }
+
+    // ============== INVALIDACIÓN ==============
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        generation.incrementAndGet();
+        if (event.productId() == null) {
+            fragments.invalidateAll();
+            return;
+        }
+        fragments.asMap().keySet().removeIf(key -> key.productId() == event.productId().longValue());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        generation.incrementAndGet();
+        fragments.invalidateAll();
+    }
+
+    /**
+     * shape: bits de los campos opcionales presentes (email del owner, fechas, categorías)
+     */
+    private record FragmentKey(long productId, long version, int shape) {
+
+        static FragmentKey of(ProductResponseDto dto) {
+            int shape = 0;
+            if (dto.user != null && dto.user.email != null) {
+                shape |= 1;
+            }
+            if (dto.createdAt != null) {
+                shape |= 2;
+            }
+            if (dto.updatedAt != null) {
+                shape |= 4;
+            }
+            if (dto.categories != null) {
+                shape |= 8;
+            }
+            if (dto.user == null) {
+                shape |= 16;
+            }
+            return new FragmentKey(dto.id, Objects.requireNonNull(dto.version), shape);
+        }
+    }
+}
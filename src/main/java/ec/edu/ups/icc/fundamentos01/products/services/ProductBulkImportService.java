@@ -0,0 +1,266 @@
+package ec.edu.ups.icc.fundamentos01.products.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ec.edu.ups.icc.fundamentos01.categories.entity.CategoryEntity;
+import ec.edu.ups.icc.fundamentos01.categories.reporitory.CategoryRepository;
+import ec.edu.ups.icc.fundamentos01.products.dtos.CreateProductDto;
+import ec.edu.ups.icc.fundamentos01.products.dtos.ProductBulkImportResultDto;
+import ec.edu.ups.icc.fundamentos01.products.dtos.ProductBulkImportResultDto.RowErrorDto;
+import ec.edu.ups.icc.fundamentos01.products.events.ProductChangedEvent;
+import ec.edu.ups.icc.fundamentos01.products.models.Product;
+import ec.edu.ups.icc.fundamentos01.products.models.ProductEntity;
+import ec.edu.ups.icc.fundamentos01.products.repository.ProductRepository;
+import ec.edu.ups.icc.fundamentos01.products.search.ProductSearchIndex;
+import ec.edu.ups.icc.fundamentos01.users.models.UserEntity;
+import ec.edu.ups.icc.fundamentos01.users.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Importación masiva de productos
+ *
+ * - Lectura incremental (Jackson streaming): NDJSON o arreglo JSON, sin cargar todo en memoria
+ * - Owners, categorías y nombres se resuelven una vez por lote (consultas IN)
+ * - Cada lote se guarda en su propia transacción con batching JDBC y luego se limpia el contexto
+ * - Los errores se reportan por fila; una fila inválida no detiene el resto
+ */
+@Service
+public class ProductBulkImportService {
+
+    // Filas por transacción (múltiplo de hibernate.jdbc.batch_size)
+    private static final int BATCH_SIZE = 500;
+
+    // Máximo de errores detallados en la respuesta
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final ProductRepository productRepo;
+    private final UserRepository userRepo;
+    private final CategoryRepository categoryRepo;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Optional<ProductSearchIndex> searchIndex;
+
+    public ProductBulkImportService(ProductRepository productRepo,
+                                    UserRepository userRepo,
+                                    CategoryRepository categoryRepo,
+                                    ObjectMapper objectMapper,
+                                    Validator validator,
+                                    PlatformTransactionManager transactionManager,
+                                    EntityManager entityManager,
+                                    ApplicationEventPublisher eventPublisher,
+                                    Optional<ProductSearchIndex> searchIndex) {
+        this.productRepo = productRepo;
+        this.userRepo = userRepo;
+        this.categoryRepo = categoryRepo;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.searchIndex = searchIndex;
+    }
+
+    // ============== IMPORTACIÓN ==============
+
+    public ProductBulkImportResultDto importProducts(InputStream input) throws IOException {
+
+        ProductBulkImportResultDto result = new ProductBulkImportResultDto();
+        List<BulkRow> batch = new ArrayList<>(BATCH_SIZE);
+        int row = 0;
+
+        // readValues desenvuelve un arreglo raíz o lee valores consecutivos (NDJSON)
+        try (MappingIterator<CreateProductDto> rows =
+                     objectMapper.readerFor(CreateProductDto.class).readValues(input)) {
+
+            while (true) {
+                CreateProductDto dto;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    row++;
+                    dto = rows.nextValue();
+                } catch (JsonMappingException ex) {
+                    // Tipos inválidos en la fila: el iterador se resincroniza en el siguiente valor
+                    reportError(result, row, null, "Formato inválido: " + ex.getOriginalMessage());
+                    continue;
+                } catch (JsonProcessingException ex) {
+                    // JSON mal formado: no hay un punto seguro para continuar la lectura
+                    reportError(result, row + 1, null, "JSON mal formado, se detiene la lectura: "
+                            + ex.getOriginalMessage());
+                    break;
+                }
+
+                String violations = validate(dto);
+                if (violations != null) {
+                    reportError(result, row, dto != null ? dto.name : null, violations);
+                    continue;
+                }
+
+                batch.add(new BulkRow(row, dto));
+                if (batch.size() >= BATCH_SIZE) {
+                    importBatch(batch, result);
+                    batch.clear();
+                }
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            importBatch(batch, result);
+        }
+
+        result.processed = row;
+        return result;
+    }
+
+    // ============== LOTES ==============
+
+    private void importBatch(List<BulkRow> batch, ProductBulkImportResultDto result) {
+        try {
+            BatchOutcome outcome = transactionTemplate.execute(status -> persistBatch(batch));
+            result.created += outcome.created();
+            outcome.errors().forEach(error -> reportError(result, error.row, error.name, error.message));
+        } catch (RuntimeException ex) {
+            // Error de base de datos: la transacción del lote se revierte completa
+            String message = "Lote revertido: " + ex.getMessage();
+            batch.forEach(bulkRow -> reportError(result, bulkRow.row(), bulkRow.dto().name, message));
+        }
+    }
+
+    private BatchOutcome persistBatch(List<BulkRow> batch) {
+
+        // 1. Resolver owners, categorías y nombres existentes con una consulta cada uno
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> categoryIds = new HashSet<>();
+        Set<String> names = new HashSet<>();
+        for (BulkRow bulkRow : batch) {
+            userIds.add(bulkRow.dto().userId);
+            categoryIds.addAll(bulkRow.dto().categoryIds);
+            names.add(bulkRow.dto().name);
+        }
+        categoryIds.remove(null);
+
+        Map<Long, UserEntity> owners = new HashMap<>();
+        userRepo.findAllById(userIds).forEach(user -> owners.put(user.getId(), user));
+
+        Map<Long, CategoryEntity> categories = categoryRepo.findAllByIdInChunks(categoryIds);
+
+        Set<String> takenNames = new HashSet<>(productRepo.findExistingNames(names));
+
+        // 2. Construir entidades válidas; las filas con errores se reportan y se omiten
+        List<RowErrorDto> errors = new ArrayList<>();
+        List<ProductEntity> entities = new ArrayList<>(batch.size());
+
+        for (BulkRow bulkRow : batch) {
+            CreateProductDto dto = bulkRow.dto();
+
+            UserEntity owner = owners.get(dto.userId);
+            if (owner == null) {
+                errors.add(new RowErrorDto(bulkRow.row(), dto.name, "Usuario no encontrado con ID: " + dto.userId));
+                continue;
+            }
+
+            Set<CategoryEntity> productCategories = new HashSet<>();
+            Long missingCategory = null;
+            for (Long categoryId : dto.categoryIds) {
+                CategoryEntity category = categories.get(categoryId);
+                if (category == null) {
+                    missingCategory = categoryId;
+                    break;
+                }
+                productCategories.add(category);
+            }
+            if (missingCategory != null) {
+                errors.add(new RowErrorDto(bulkRow.row(), dto.name, "Categoría no encontrada: " + missingCategory));
+                continue;
+            }
+
+            // Reglas del dominio antes de reservar el nombre: una fila inválida no lo bloquea para las siguientes
+            ProductEntity entity;
+            try {
+                entity = Product.fromDto(dto).toEntity(owner, productCategories);
+            } catch (IllegalArgumentException ex) {
+                errors.add(new RowErrorDto(bulkRow.row(), dto.name, ex.getMessage()));
+                continue;
+            }
+
+            // Cubre nombres ya registrados y repetidos dentro del mismo lote
+            if (!takenNames.add(dto.name)) {
+                errors.add(new RowErrorDto(bulkRow.row(), dto.name, "El nombre del producto ya está registrado"));
+                continue;
+            }
+
+            entities.add(entity);
+        }
+
+        // 3. INSERT agrupados (ids de la secuencia pooled) y contexto limpio para el siguiente lote
+        productRepo.saveAll(entities);
+        entityManager.flush();
+        searchIndex.ifPresent(index ->
+                entities.forEach(entity -> index.indexAfterCommit(entity, entity.getCategories())));
+        entityManager.clear();
+
+        if (!entities.isEmpty()) {
+            eventPublisher.publishEvent(ProductChangedEvent.bulk());
+        }
+
+        return new BatchOutcome(entities.size(), errors);
+    }
+
+    // ============== HELPERS ==============
+
+    private String validate(CreateProductDto dto) {
+        if (dto == null) {
+            return "La fila está vacía";
+        }
+
+        Set<ConstraintViolation<CreateProductDto>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void reportError(ProductBulkImportResultDto result, int row, String name, String message) {
+        result.failed++;
+        if (result.errors.size() < MAX_REPORTED_ERRORS) {
+            result.errors.add(new RowErrorDto(row, name, message));
+        } else {
+            result.errorsTruncated = true;
+        }
+    }
+
+    private record BulkRow(int row, CreateProductDto dto) {
+    }
+
+    private record BatchOutcome(int created, List<RowErrorDto> errors) {
+    }
+}
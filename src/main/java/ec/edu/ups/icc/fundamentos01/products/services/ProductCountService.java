@@ -0,0 +1,151 @@
+package ec.edu.ups.icc.fundamentos01.products.services;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import ec.edu.ups.icc.fundamentos01.products.config.ProductCountProperties;
+import ec.edu.ups.icc.fundamentos01.products.dtos.CountedPage;
+import ec.edu.ups.icc.fundamentos01.products.dtos.ProductFilter;
+import ec.edu.ups.icc.fundamentos01.products.events.ProductChangedEvent;
+import ec.edu.ups.icc.fundamentos01.products.repository.ProductCountEstimator;
+import ec.edu.ups.icc.fundamentos01.shared.datasource.ReadYourWritesTracker;
+
+/**
+ * Totales de los listados paginados sin un COUNT(*) completo en cada cambio de página
+ *
+ * 1. Si la página ya determina el total (incompleta), no se consulta nada
+ * 2. Total en caché para la misma clave de filtros (TTL corto, se vacía con cada escritura)
+ * 3. Estimación del planificador: hasta products.count.exact-threshold se cuenta exacto,
+ *    por encima se devuelve la estimación y la página se marca con totalExact = false
+ */
+@Service
+public class ProductCountService {
+
+    private final ProductCountEstimator estimator;
+    private final ProductCountProperties properties;
+    private final Cache<String, Total> totals;
+
+    // Se incrementa en cada invalidación: un total calculado antes de ella ya no se guarda
+    private final AtomicLong generation = new AtomicLong();
+
+    // Presente solo con réplica de lectura (datasource.replica.url)
+    private final ReadYourWritesTracker replicaTracker;
+
+    public ProductCountService(ProductCountEstimator estimator, ProductCountProperties properties,
+                               ObjectProvider<ReadYourWritesTracker> replicaTracker) {
+        this.estimator = estimator;
+        this.properties = properties;
+        this.replicaTracker = replicaTracker.getIfAvailable();
+        this.totals = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheMaxEntries())
+                .expireAfterWrite(properties.getCacheTtl())
+                .build();
+    }
+
+    // ============== PÁGINAS ==============
+
+    /**
+     * Listado sin filtros (estimación con reltuples)
+     */
+    public <T> CountedPage<T> pageOfAll(List<T> content, Pageable pageable, LongSupplier exactCount) {
+        return toPage(content, pageable, "all", estimator::estimateAll, exactCount);
+    }
+
+    /**
+     * Listado con filtros dinámicos (ProductSpecifications)
+     */
+    public <T> CountedPage<T> pageOf(ProductFilter filter, List<T> content, Pageable pageable,
+                                     LongSupplier exactCount) {
+        return toPage(content, pageable, filterKey(filter), () -> estimator.estimate(filter), exactCount);
+    }
+
+    /**
+     * Búsqueda de texto completo; query es la tsquery ya normalizada
+     */
+    public <T> CountedPage<T> pageOfSearch(String query, Double minPrice, Double maxPrice, Long categoryId,
+                                           List<T> content, Pageable pageable, LongSupplier exactCount) {
+        String key = "search|" + query + "|" + minPrice + "|" + maxPrice + "|" + categoryId;
+        return toPage(content, pageable, key,
+                () -> estimator.estimateSearch(query, minPrice, maxPrice, categoryId), exactCount);
+    }
+
+    // ============== INVALIDACIÓN ==============
+
+    /**
+     * Cualquier escritura puede cambiar cualquier total: se vacía la caché completa
+     * Con transacción se ejecuta al confirmar; sin ella, de inmediato
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        invalidateAll();
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        totals.invalidateAll();
+    }
+
+    // ============== HELPERS ==============
+
+    private <T> CountedPage<T> toPage(List<T> content, Pageable pageable, String key,
+                                      LongSupplier estimate, LongSupplier exactCount) {
+
+        // Página incompleta con contenido (o primera vacía): total = offset + filas
+        if (pageable.isUnpaged() || content.size() < pageable.getPageSize()
+                && (!content.isEmpty() || pageable.getOffset() == 0)) {
+            long offset = pageable.isUnpaged() ? 0 : pageable.getOffset();
+            return new CountedPage<>(content, pageable, offset + content.size(), true);
+        }
+
+        Total total = totals.getIfPresent(key);
+        if (total == null) {
+            // La consulta se hace fuera de la caché: totals.get(key, loader) la ejecutaría dentro de
+            // ConcurrentHashMap.compute y con hilos virtuales (JDK 21-23) fijaría el carrier durante el I/O
+            long observed = generation.get();
+            Total computed = count(estimate, exactCount);
+            if (isCacheable()) {
+                totals.asMap().compute(key, (ignored, existing) ->
+                        existing != null ? existing : generation.get() == observed ? computed : null);
+            }
+            total = computed;
+        }
+        return new CountedPage<>(content, pageable, total.value(), total.exact());
+    }
+
+    /**
+     * Con réplica: justo después de una escritura el conteo pudo salir de una réplica atrasada;
+     * guardarlo lo dejaría vigente todo el cache-ttl (igual que en ResponseCacheFilter)
+     */
+    private boolean isCacheable() {
+        return replicaTracker == null || !replicaTracker.anyWriteWithinWindow();
+    }
+
+    private Total count(LongSupplier estimate, LongSupplier exactCount) {
+        long estimated = estimate.getAsLong();
+        if (estimated == ProductCountEstimator.UNKNOWN || estimated <= properties.getExactThreshold()) {
+            return new Total(exactCount.getAsLong(), true);
+        }
+        return new Total(estimated, false);
+    }
+
+    /**
+     * El filtro de nombre no distingue mayúsculas: "Laptop" y "laptop" comparten clave
+     */
+    private String filterKey(ProductFilter filter) {
+        String name = filter.hasName() ? filter.name().toLowerCase() : "";
+        return "filter|" + filter.ownerId() + "|" + name + "|" + filter.minPrice() + "|"
+                + filter.maxPrice() + "|" + filter.categoryId();
+    }
+
+    private record Total(long value, boolean exact) {
+    }
+}
@@ -0,0 +1,229 @@
+package ec.edu.ups.icc.fundamentos01.products.services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import ec.edu.ups.icc.fundamentos01.categories.dtos.CategoryResponseDto;
+import ec.edu.ups.icc.fundamentos01.exceptions.domain.BadRequestException;
+import ec.edu.ups.icc.fundamentos01.products.dtos.ProductCategoryRow;
+import ec.edu.ups.icc.fundamentos01.products.dtos.ProductResponseDto;
+import ec.edu.ups.icc.fundamentos01.products.models.ProductEntity;
+import ec.edu.ups.icc.fundamentos01.products.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Exportación del catálogo completo en streaming (NDJSON o CSV)
+ *
+ * Los productos se leen con un cursor (fetch size) y se escriben fila por fila;
+ * cada CHUNK_SIZE filas se cargan sus categorías en una consulta, se vacía el buffer
+ * y se limpia el contexto de persistencia. La memoria no depende del tamaño del catálogo.
+ */
+@Service
+public class ProductExportService {
+
+    // Filas por bloque: categorías en una consulta IN + clear del contexto
+    private static final int CHUNK_SIZE = 500;
+
+    private static final String CSV_HEADER =
+            "id,name,price,description,owner_id,owner_name,categories,created_at,updated_at";
+
+    private final ProductRepository productRepo;
+    private final EntityManager entityManager;
+    private final ObjectWriter productWriter;
+
+    public ProductExportService(ProductRepository productRepo,
+                                EntityManager entityManager,
+                                ObjectMapper objectMapper) {
+        this.productRepo = productRepo;
+        this.entityManager = entityManager;
+        this.productWriter = objectMapper.writerFor(ProductResponseDto.class);
+    }
+
+    /**
+     * Formatos soportados por GET /api/products/export?format=
+     */
+    public enum Format {
+        NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format from(String value) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new BadRequestException("Formato de exportación no válido: " + value + " (ndjson | csv)");
+        }
+    }
+
+    // ============== EXPORTACIÓN ==============
+
+    /**
+     * Escribe todo el catálogo en el stream de salida
+     * La transacción mantiene abierto el cursor mientras se escribe
+     */
+    @Transactional(readOnly = true)
+    public void export(Format format, OutputStream output) throws IOException {
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        List<ProductEntity> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        try (Stream<ProductEntity> products = productRepo.streamAllWithOwner()) {
+            products.forEach(product -> {
+                chunk.add(product);
+                if (chunk.size() >= CHUNK_SIZE) {
+                    writeChunk(format, chunk, writer);
+                    chunk.clear();
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            // Cliente desconectado u otro error de escritura
+            throw ex.getCause();
+        }
+
+        if (!chunk.isEmpty()) {
+            writeChunk(format, chunk, writer);
+        }
+
+        writer.flush();
+    }
+
+    // ============== HELPERS ==============
+
+    private void writeChunk(Format format, List<ProductEntity> chunk, Writer writer) {
+
+        Map<Long, List<CategoryResponseDto>> categoriesByProduct = loadCategories(chunk);
+
+        try {
+            for (ProductEntity product : chunk) {
+                List<CategoryResponseDto> categories = categoriesByProduct.getOrDefault(product.getId(), List.of());
+                if (format == Format.CSV) {
+                    writeCsvRow(product, categories, writer);
+                } else {
+                    writer.write(productWriter.writeValueAsString(toResponseDto(product, categories)));
+                    writer.write('\n');
+                }
+            }
+            writer.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        // Las entidades del bloque ya se escribieron: se liberan del contexto
+        entityManager.clear();
+    }
+
+    private Map<Long, List<CategoryResponseDto>> loadCategories(List<ProductEntity> chunk) {
+
+        List<Long> ids = chunk.stream().map(ProductEntity::getId).toList();
+        Map<Long, List<CategoryResponseDto>> categoriesByProduct = new HashMap<>();
+
+        for (ProductCategoryRow row : productRepo.findCategoryRowsByProductIdIn(ids)) {
+            CategoryResponseDto categoryDto = new CategoryResponseDto();
+            categoryDto.id = row.categoryId();
+            categoryDto.name = row.categoryName();
+            categoriesByProduct.computeIfAbsent(row.productId(), id -> new ArrayList<>()).add(categoryDto);
+        }
+        return categoriesByProduct;
+    }
+
+    private ProductResponseDto toResponseDto(ProductEntity entity, List<CategoryResponseDto> categories) {
+        ProductResponseDto dto = new ProductResponseDto();
+        dto.id = entity.getId();
+        dto.name = entity.getName();
+        dto.price = entity.getPrice();
+        dto.description = entity.getDescription();
+
+        ProductResponseDto.UserSummaryDto ownerDto = new ProductResponseDto.UserSummaryDto();
+        ownerDto.id = entity.getOwner().getId();
+        ownerDto.name = entity.getOwner().getName();
+
+        dto.user = ownerDto;
+        dto.categories = categories;
+        dto.createdAt = entity.getCreatedAt();
+        dto.updatedAt = entity.getUpdatedAt();
+        dto.version = entity.getVersion();
+        return dto;
+    }
+
+    private void writeCsvRow(ProductEntity product, List<CategoryResponseDto> categories, Writer writer)
+            throws IOException {
+
+        String categoryNames = categories.stream()
+                .map(category -> category.name)
+                .collect(Collectors.joining("|"));
+
+        writer.write(String.valueOf(product.getId()));
+        writer.write(',');
+        writer.write(csv(product.getName()));
+        writer.write(',');
+        writer.write(String.valueOf(product.getPrice()));
+        writer.write(',');
+        writer.write(csv(product.getDescription()));
+        writer.write(',');
+        writer.write(String.valueOf(product.getOwner().getId()));
+        writer.write(',');
+        writer.write(csv(product.getOwner().getName()));
+        writer.write(',');
+        writer.write(csv(categoryNames));
+        writer.write(',');
+        writer.write(product.getCreatedAt() != null ? product.getCreatedAt().toString() : "");
+        writer.write(',');
+        writer.write(product.getUpdatedAt() != null ? product.getUpdatedAt().toString() : "");
+        writer.write('\n');
+    }
+
+    /**
+     * Escapa un valor CSV (RFC 4180): comillas si contiene separador, comillas o saltos de línea
+     */
+    private String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
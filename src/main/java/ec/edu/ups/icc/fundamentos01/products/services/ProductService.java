@@ -6,6 +6,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Slice;
 
 import ec.edu.ups.icc.fundamentos01.products.dtos.CreateProductDto;
+import ec.edu.ups.icc.fundamentos01.products.dtos.ProductCursorPageDto;
 import ec.edu.ups.icc.fundamentos01.products.dtos.UpdateProductDto;
 import ec.edu.ups.icc.fundamentos01.security.services.UserDetailsImpl;
 import ec.edu.ups.icc.fundamentos01.products.dtos.ProductResponseDto;
@@ -21,6 +22,11 @@ public interface ProductService {
 
     ProductResponseDto findById(Long id);
 
+    /**
+     * ETag actual del producto (versión propia, del owner y de sus categorías) sin cargarlo
+     */
+    String findETag(Long id);
+
     List<ProductResponseDto> findByUserId(Long id);
 
     List<ProductResponseDto> findByCategoryId(Long id);
@@ -30,9 +36,12 @@ public interface ProductService {
 
     void delete(Long id);
 
-    ProductResponseDto update(Long id, UpdateProductDto dto, UserDetailsImpl currentUser);
+    /**
+     * expectedVersion: versión de If-Match (null = sin condición); si no coincide -> 412
+     */
+    ProductResponseDto update(Long id, UpdateProductDto dto, UserDetailsImpl currentUser, Long expectedVersion);
 
-        void delete(Long id, UserDetailsImpl currentUser);
+    void delete(Long id, UserDetailsImpl currentUser, Long expectedVersion);
 
 
 
@@ -61,4 +70,18 @@ public interface ProductService {
             int size,
             String[] sort
     );
+
+    // ============== PAGINACIÓN KEYSET (CURSOR) ==============
+
+    ProductCursorPageDto findAllKeyset(String cursor, int size, String sort);
+
+    ProductCursorPageDto findWithFiltersKeyset(
+            String name,
+            Double minPrice,
+            Double maxPrice,
+            Long categoryId,
+            String cursor,
+            int size,
+            String sort
+    );
 }
@@ -0,0 +1,144 @@
+package ec.edu.ups.icc.fundamentos01.products.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import ec.edu.ups.icc.fundamentos01.exceptions.domain.BadRequestException;
+import ec.edu.ups.icc.fundamentos01.products.models.ProductEntity;
+
+/**
+ * Cursor opaco para paginación keyset (seek)
+ *
+ * Codifica en Base64 URL la tupla (propiedad, dirección, último id, último valor)
+ * Ejemplo decodificado: "price,desc,987,1499.99"
+ *
+ * El valor va al final para que un nombre con comas no rompa el formato
+ */
+public final class ProductCursor {
+
+    private static final String SEPARATOR = ",";
+
+    private final String property;
+    private final boolean descending;
+    private final Long lastId;
+    private final String lastValue;
+
+    private ProductCursor(String property, boolean descending, Long lastId, String lastValue) {
+        this.property = property;
+        this.descending = descending;
+        this.lastId = lastId;
+        this.lastValue = lastValue;
+    }
+
+    // ==================== FACTORY METHODS ====================
+
+    /**
+     * Posición inicial (primera página) para un orden dado
+     */
+    public static ProductCursor start(String property, boolean descending) {
+        return new ProductCursor(property, descending, null, null);
+    }
+
+    /**
+     * Posición siguiente a la última fila entregada
+     */
+    public ProductCursor after(ProductEntity last) {
+        return new ProductCursor(property, descending, last.getId(), sortValueOf(last));
+    }
+
+    /**
+     * Decodifica un cursor recibido del cliente
+     */
+    public static ProductCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, 4);
+
+            if (parts.length != 4 || !"asc".equals(parts[1]) && !"desc".equals(parts[1])) {
+                throw new BadRequestException("Cursor inválido");
+            }
+
+            return new ProductCursor(
+                    parts[0],
+                    "desc".equals(parts[1]),
+                    Long.parseLong(parts[2]),
+                    parts[3]);
+
+        } catch (IllegalArgumentException ex) {
+            // Base64 o número inválido
+            throw new BadRequestException("Cursor inválido");
+        }
+    }
+
+    public String encode() {
+        String raw = property + SEPARATOR
+                + (descending ? "desc" : "asc") + SEPARATOR
+                + lastId + SEPARATOR
+                + lastValue;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // ==================== VALOR DE ORDENAMIENTO ====================
+
+    /**
+     * Extrae de la entidad el valor de la columna de orden
+     * updatedAt es nullable: se usa COALESCE(updatedAt, createdAt) igual que en la consulta
+     * created_at es NOT NULL (V6): un valor nulo sería un "null" imposible de decodificar
+     */
+    private String sortValueOf(ProductEntity entity) {
+        Object value = switch (property) {
+            case "name" -> entity.getName();
+            case "price" -> entity.getPrice();
+            case "createdAt" -> entity.getCreatedAt();
+            case "updatedAt" -> entity.getUpdatedAt() != null
+                    ? entity.getUpdatedAt()
+                    : entity.getCreatedAt();
+            default -> entity.getId();
+        };
+        if (value == null) {
+            throw new IllegalStateException("Producto " + entity.getId() + " sin valor para ordenar por " + property);
+        }
+        return value.toString();
+    }
+
+    public Double lastValueAsDouble() {
+        if (lastValue == null) {
+            return null;
+        }
+        try {
+            return Double.valueOf(lastValue);
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("Cursor inválido");
+        }
+    }
+
+    public LocalDateTime lastValueAsDateTime() {
+        if (lastValue == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(lastValue);
+        } catch (DateTimeParseException ex) {
+            throw new BadRequestException("Cursor inválido");
+        }
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public Long getLastId() {
+        return lastId;
+    }
+
+    public String getLastValue() {
+        return lastValue;
+    }
+}
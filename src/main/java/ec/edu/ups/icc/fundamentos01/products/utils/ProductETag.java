@@ -0,0 +1,92 @@
+package ec.edu.ups.icc.fundamentos01.products.utils;
+
+import java.util.Comparator;
+import java.util.List;
+
+import ec.edu.ups.icc.fundamentos01.exceptions.domain.BadRequestException;
+import ec.edu.ups.icc.fundamentos01.exceptions.domain.PreconditionFailedException;
+import ec.edu.ups.icc.fundamentos01.products.dtos.ProductVersionRow;
+
+/**
+ * ETags de /api/products/{id}: "<versión del producto>-<huella>" ("7-1f3a")
+ *
+ * - La huella resume la versión del owner y (id, versión) de cada categoría: el cuerpo muestra
+ *   sus nombres y renombrarlos no cambia products.version
+ * - If-None-Match (GET): comparación débil, admite lista y "*"
+ * - If-Match (PUT/DELETE): comparación fuerte, un solo ETag o "*"; solo cuenta la versión del
+ *   producto, que es lo que protege el bloqueo optimista
+ */
+public final class ProductETag {
+
+    private ProductETag() {
+    }
+
+    /**
+     * rows: resultado de ProductRepository.findVersionRowsById (no vacío)
+     */
+    public static String of(List<ProductVersionRow> rows) {
+        ProductVersionRow first = rows.get(0);
+        long related = first.ownerVersion() != null ? first.ownerVersion() : -1;
+
+        // Polinomio con multiplicador impar: cualquier versión que aumente cambia la huella
+        List<ProductVersionRow> categories = rows.stream()
+                .filter(row -> row.categoryId() != null)
+                .sorted(Comparator.comparing(ProductVersionRow::categoryId))
+                .toList();
+        for (ProductVersionRow row : categories) {
+            related = 31 * related + row.categoryId();
+            related = 31 * related + row.categoryVersion();
+        }
+        return of(first.productVersion(), related);
+    }
+
+    static String of(long version, long related) {
+        return "\"" + version + "-" + Long.toHexString(related) + "\"";
+    }
+
+    /**
+     * true si el cliente ya tiene la representación actual (responder 304)
+     */
+    public static boolean matchesNoneMatch(String ifNoneMatch, String etag) {
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.equals("*")) {
+                return true;
+            }
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Versión exigida por If-Match; null si no hay encabezado o es "*" (cualquier versión)
+     * Un ETag débil o ajeno a este recurso nunca coincide: 412
+     */
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String tag = ifMatch.trim();
+        if (tag.contains(",")) {
+            throw new BadRequestException("If-Match admite un solo ETag");
+        }
+
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new PreconditionFailedException("If-Match no corresponde a una versión del producto");
+        }
+
+        String value = tag.substring(1, tag.length() - 1);
+        int separator = value.indexOf('-');
+        try {
+            return Long.parseLong(separator < 0 ? value : value.substring(0, separator));
+        } catch (NumberFormatException ex) {
+            throw new PreconditionFailedException("If-Match no corresponde a una versión del producto");
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package ec.edu.ups.icc.fundamentos01.products.utils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Convierte el texto de búsqueda del usuario en una consulta tsquery de Postgres
+ *
+ * "Laptop gam" -> "laptop:* & gam:*"
+ * Cada palabra se busca por prefijo y todas deben coincidir.
+ * Solo se conservan letras y dígitos: los operadores de tsquery (&, |, !, :) nunca
+ * llegan desde la entrada del usuario.
+ */
+public final class ProductSearchQuery {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Límite de términos para acotar el costo de la consulta
+    private static final int MAX_TERMS = 8;
+
+    private ProductSearchQuery() {
+    }
+
+    /**
+     * @return tsquery con coincidencia por prefijo, o null si el texto no tiene palabras
+     */
+    public static String toPrefixTsQuery(String text) {
+        String query = tokenize(text).stream()
+                .limit(MAX_TERMS)
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+
+        return query.isEmpty() ? null : query;
+    }
+
+    /**
+     * Palabras en minúsculas (solo letras y dígitos), en el orden del texto
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+
+        return Arrays.stream(NON_WORD.split(text.toLowerCase(Locale.ROOT)))
+                .filter(term -> !term.isEmpty())
+                .toList();
+    }
+
+    public static int maxTerms() {
+        return MAX_TERMS;
+    }
+}
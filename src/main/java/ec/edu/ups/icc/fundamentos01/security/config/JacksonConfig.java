@@ -5,10 +5,14 @@ package ec.edu.ups.icc.fundamentos01.security.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.jackson.autoconfigure.JsonMapperBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 
+import ec.edu.ups.icc.fundamentos01.products.serialization.ProductJsonFragments;
+
 @Configuration
 public class JacksonConfig {
 
@@ -46,4 +50,15 @@ public class JacksonConfig {
 
         return mapper;
     }
+
+    /**
+     * Las respuestas MVC se escriben con el JsonMapper de Jackson 3 que configura Spring Boot
+     * Con products.json-fragments.enabled=true se le agrega el módulo de fragmentos
+     * (solo cambia cómo se escribe ProductResponseDto; la lectura de peticiones no cambia)
+     */
+    @Bean
+    public JsonMapperBuilderCustomizer productFragmentsCustomizer(
+            ObjectProvider<ProductJsonFragments> productFragments) {
+        return builder -> productFragments.ifAvailable(fragments -> builder.addModule(fragments.module()));
+    }
 }
\ No newline at end of file
@@ -14,6 +14,9 @@ public class JwtProperties {
     private String issuer;
     private String header;
     private String prefix;
+    private Integer cacheMaxEntries;
+    private Long versionCacheTtl;
+    private String principalMode = "database";
 
     // Getters y Setters
    
@@ -65,4 +68,35 @@ public class JwtProperties {
     public void setPrefix(String prefix) {
         this.prefix = prefix;
     }
-}
\ No newline at end of file
+
+    public Integer getCacheMaxEntries() {
+        return cacheMaxEntries;
+    }
+
+    public void setCacheMaxEntries(Integer cacheMaxEntries) {
+        this.cacheMaxEntries = cacheMaxEntries;
+    }
+
+    public Long getVersionCacheTtl() {
+        return versionCacheTtl;
+    }
+
+    public void setVersionCacheTtl(Long versionCacheTtl) {
+        this.versionCacheTtl = versionCacheTtl;
+    }
+
+    public String getPrincipalMode() {
+        return principalMode;
+    }
+
+    public void setPrincipalMode(String principalMode) {
+        this.principalMode = principalMode;
+    }
+
+    /**
+     * true: el principal se arma desde los claims del token (sin consulta a BD)
+     */
+    public boolean isClaimsPrincipalMode() {
+        return "claims".equalsIgnoreCase(principalMode);
+    }
+}
@@ -16,8 +16,11 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import ec.edu.ups.icc.fundamentos01.security.config.JwtProperties;
+import ec.edu.ups.icc.fundamentos01.security.services.TokenVersionService;
 import ec.edu.ups.icc.fundamentos01.security.services.UserDetailsServiceImpl;
+import ec.edu.ups.icc.fundamentos01.security.utils.JwtTokenCache;
 import ec.edu.ups.icc.fundamentos01.security.utils.JwtUtil;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -33,13 +36,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtUtil jwtUtil; 
     private final UserDetailsServiceImpl userDetailsService; 
     private final JwtProperties jwtProperties; 
+    private final JwtTokenCache tokenCache;
+    private final TokenVersionService tokenVersionService;
 
     public JwtAuthenticationFilter(JwtUtil jwtUtil,
             UserDetailsServiceImpl userDetailsService,
-            JwtProperties jwtProperties) {
+            JwtProperties jwtProperties,
+            JwtTokenCache tokenCache,
+            TokenVersionService tokenVersionService) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
         this.jwtProperties = jwtProperties;
+        this.tokenCache = tokenCache;
+        this.tokenVersionService = tokenVersionService;
     }
 
     @Override
@@ -51,11 +60,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String jwt = getJwtFromRequest(request);
 
            
-            if (StringUtils.hasText(jwt) && jwtUtil.validateToken(jwt)) {
+            UserDetails userDetails = StringUtils.hasText(jwt) ? resolvePrincipal(jwt) : null;
 
-                String email = jwtUtil.getEmailFromToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+            if (userDetails != null) {
 
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, 
@@ -64,7 +71,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 );
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authentication);
-                logger.debug("Usuario autenticado: {}", email);
+                logger.debug("Usuario autenticado: {}", userDetails.getUsername());
             }
             } catch (UsernameNotFoundException ex) {
            
@@ -76,6 +83,45 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
     
+    /**
+     * Resuelve el principal del token: primero en caché (lookup por firma),
+     * si no, valida una sola vez y arma el principal (claims o BD según jwt.principal-mode)
+     * En ambos casos el claim "ver" debe coincidir con la versión vigente del usuario
+     */
+    private UserDetails resolvePrincipal(String jwt) {
+        JwtTokenCache.CachedToken cached = tokenCache.get(jwt);
+        if (cached != null) {
+            return isCurrentVersion(cached.getClaims()) ? cached.getPrincipal() : null;
+        }
+
+        Claims claims = jwtUtil.validateAndGetClaims(jwt);
+        if (claims == null || !isCurrentVersion(claims)) {
+            return null;
+        }
+
+        UserDetails userDetails = jwtProperties.isClaimsPrincipalMode()
+                ? jwtUtil.buildPrincipalFromClaims(claims)
+                : userDetailsService.loadUserByUsername(claims.get("email", String.class));
+        tokenCache.put(jwt, claims, userDetails);
+        return userDetails;
+    }
+
+    private boolean isCurrentVersion(Claims claims) {
+        Long userId;
+        try {
+            userId = Long.valueOf(claims.getSubject());
+        } catch (NumberFormatException ex) {
+            logger.warn("Token JWT con subject inválido");
+            return false;
+        }
+
+        if (!tokenVersionService.isCurrent(userId, jwtUtil.getTokenVersion(claims))) {
+            logger.debug("Token JWT revocado para el usuario {}", userId);
+            return false;
+        }
+        return true;
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader(jwtProperties.getHeader());
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith(jwtProperties.getPrefix())) {
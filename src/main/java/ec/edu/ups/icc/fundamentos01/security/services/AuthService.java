@@ -34,21 +34,25 @@ public class AuthService {
     private final RoleRepository roleRepository;               // Gestión de roles
     private final PasswordEncoder passwordEncoder;             // Hash de passwords
     private final JwtUtil jwtUtil;                            // Generación de tokens
+    private final UserDetailsServiceImpl userDetailsService;  // Caché de principals
 
     public AuthService(AuthenticationManager authenticationManager,
                        UserRepository userRepository,
                        RoleRepository roleRepository,
                        PasswordEncoder passwordEncoder,
-                       JwtUtil jwtUtil) {
+                       JwtUtil jwtUtil,
+                       UserDetailsServiceImpl userDetailsService) {
         this.authenticationManager = authenticationManager;
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
+        this.userDetailsService = userDetailsService;
     }
 
     
-    @Transactional(readOnly = true) // Solo lectura, no modifica BD
+    // Solo lectura, pero sin readOnly: con réplica el login debe ver al usuario recién registrado
+    @Transactional
     public AuthResponseDto login(LoginRequestDto loginRequest) {
        
         Authentication authentication = authenticationManager.authenticate(
@@ -105,6 +109,9 @@ public class AuthService {
         // 4. Guardar en BD (INSERT)
         user = userRepository.save(user);
 
+        // Descarta cualquier principal cacheado para este email
+        userDetailsService.evict(user.getEmail());
+
         // 5. Generar JWT automáticamente para login directo
         // No requiere que el usuario haga login después de registrarse
         UserDetailsImpl userDetails = UserDetailsImpl.build(user);
@@ -0,0 +1,131 @@
+package ec.edu.ups.icc.fundamentos01.security.services;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import ec.edu.ups.icc.fundamentos01.security.config.JwtProperties;
+import ec.edu.ups.icc.fundamentos01.users.repository.UserRepository;
+
+/**
+ * Control de revocación de tokens por versión
+ *
+ * Cada usuario tiene una columna token_version y cada token lleva el claim "ver".
+ * Un token es aceptado solo si su "ver" coincide con la versión actual del usuario.
+ *
+ * La versión se cachea por instancia durante jwt.version-cache-ttl (nunca más que la vida
+ * del token). Con varias instancias, una revocación hecha en otra se ve al vencer la entrada;
+ * un token con "ver" mayor que la versión en caché fuerza una nueva lectura de la BD.
+ */
+@Service
+public class TokenVersionService {
+
+    // Versión usada para usuarios inexistentes: ningún token la puede tener
+    private static final long REVOKED = -1L;
+
+    private static final int MAX_USERS = 10_000;
+    private static final long DEFAULT_TTL_MILLIS = 60_000L;
+
+    private final Cache<Long, Long> versions;
+
+    // Se incrementa en cada revocación: una versión leída antes de ella ya no se guarda
+    private final AtomicLong revocations = new AtomicLong();
+    private final UserRepository userRepository;
+
+    public TokenVersionService(UserRepository userRepository, JwtProperties jwtProperties) {
+        this.userRepository = userRepository;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(MAX_USERS)
+                .expireAfterWrite(ttlOf(jwtProperties))
+                .build();
+    }
+
+    // ============== CONSULTA ==============
+
+    /**
+     * Verifica que la versión del token sea la vigente para el usuario
+     */
+    public boolean isCurrent(Long userId, long tokenVersion) {
+        if (userId == null) {
+            return false;
+        }
+
+        long current = currentVersion(userId);
+
+        // Token emitido tras una revocación hecha en otra instancia: la versión en caché es vieja
+        if (tokenVersion > current) {
+            current = load(userId);
+        }
+        return current == tokenVersion;
+    }
+
+    public long currentVersion(Long userId) {
+        Long cached = versions.getIfPresent(userId);
+        return cached != null ? cached : load(userId);
+    }
+
+    // ============== REVOCACIÓN ==============
+
+    /**
+     * Incrementa la versión del usuario: todos sus tokens previos dejan de ser válidos
+     * Se llama en cambios de email, contraseña o roles y en la eliminación del usuario
+     */
+    public void revokeAll(Long userId) {
+        if (userId == null) {
+            return;
+        }
+
+        userRepository.incrementTokenVersion(userId);
+        revocations.incrementAndGet();
+        versions.invalidate(userId);
+
+        // Si hay transacción activa, se vuelve a limpiar al confirmar:
+        // una lectura concurrente pudo recargar la versión anterior antes del commit
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    revocations.incrementAndGet();
+                    versions.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    // ============== HELPERS ==============
+
+    /**
+     * Lee la versión de la BD y la guarda si no hubo una revocación local mientras tanto
+     *
+     * La consulta se hace fuera del compute: dentro del lock del mapa fijaría el carrier
+     * del hilo virtual (JDK 21-23) durante el I/O. Las versiones solo crecen: entre dos
+     * lecturas concurrentes se conserva la mayor.
+     */
+    private long load(Long userId) {
+        long observed = revocations.get();
+        long version = userRepository.findTokenVersionById(userId).orElse(REVOKED);
+        versions.asMap().compute(userId, (id, existing) -> {
+            if (revocations.get() != observed) {
+                return existing;
+            }
+            return existing != null ? Long.valueOf(Math.max(existing, version)) : Long.valueOf(version);
+        });
+        return version;
+    }
+
+    private static Duration ttlOf(JwtProperties jwtProperties) {
+        long ttl = jwtProperties.getVersionCacheTtl() != null && jwtProperties.getVersionCacheTtl() > 0
+                ? jwtProperties.getVersionCacheTtl()
+                : DEFAULT_TTL_MILLIS;
+        if (jwtProperties.getExpiration() != null && jwtProperties.getExpiration() > 0) {
+            ttl = Math.min(ttl, jwtProperties.getExpiration());
+        }
+        return Duration.ofMillis(ttl);
+    }
+}
@@ -16,17 +16,28 @@ public class UserDetailsImpl implements UserDetails {
     private final String email;
     private final String password;
     private final Collection<? extends GrantedAuthority> authorities;
+    private final long tokenVersion;
 
     public UserDetailsImpl(Long id,
                            String name,
                            String email,
                            String password,
                            Collection<? extends GrantedAuthority> authorities) {
+        this(id, name, email, password, authorities, 0L);
+    }
+
+    public UserDetailsImpl(Long id,
+                           String name,
+                           String email,
+                           String password,
+                           Collection<? extends GrantedAuthority> authorities,
+                           long tokenVersion) {
         this.id = id;
         this.name = name;
         this.email = email;
         this.password = password;
         this.authorities = authorities;
+        this.tokenVersion = tokenVersion;
     }
 
     /**
@@ -48,7 +59,8 @@ public class UserDetailsImpl implements UserDetails {
                 user.getName(),
                 user.getEmail(),
                 user.getPassword(),
-                authorities
+                authorities,
+                user.getTokenVersion()
         );
     }
 
@@ -66,6 +78,10 @@ public class UserDetailsImpl implements UserDetails {
         return email;
     }
 
+    public long getTokenVersion() {
+        return tokenVersion;
+    }
+
     // =================== MÉTODOS DE UserDetails ===================
 
     @Override
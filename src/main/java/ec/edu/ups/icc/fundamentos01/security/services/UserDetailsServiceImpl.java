@@ -1,27 +1,38 @@
 package ec.edu.ups.icc.fundamentos01.security.services;
 
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import ec.edu.ups.icc.fundamentos01.security.utils.JwtTokenCache;
 import ec.edu.ups.icc.fundamentos01.users.models.UserEntity;
 import ec.edu.ups.icc.fundamentos01.users.repository.UserRepository;
 
 @Service 
 public class UserDetailsServiceImpl implements UserDetailsService {
 
+    // Caché de principals por email (configurada en spring.cache.caffeine.spec)
+    public static final String USER_DETAILS_CACHE = "userDetails";
+
     private final UserRepository userRepository;
+    private final JwtTokenCache tokenCache;
 
-    public UserDetailsServiceImpl(UserRepository userRepository) {
+    public UserDetailsServiceImpl(UserRepository userRepository, JwtTokenCache tokenCache) {
         this.userRepository = userRepository;
+        this.tokenCache = tokenCache;
     }
 
   
+    // Sin readOnly: con réplica de lectura la autenticación siempre consulta el primario
+    // (usuario recién registrado, roles recién cambiados)
     @Override
-    @Transactional(readOnly = true)
+    @Transactional
+    @Cacheable(cacheNames = USER_DETAILS_CACHE, key = "#email")
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
        
         UserEntity user = userRepository.findByEmail(email)
@@ -32,4 +43,13 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         
         return UserDetailsImpl.build(user);
     }
-}
\ No newline at end of file
+
+    /**
+     * Descarta el principal cacheado del usuario y sus tokens ya validados
+     * Debe llamarse después de persistir cambios de datos, password o roles
+     */
+    @CacheEvict(cacheNames = USER_DETAILS_CACHE, key = "#email")
+    public void evict(String email) {
+        tokenCache.evictByEmail(email);
+    }
+}
@@ -0,0 +1,179 @@
+package ec.edu.ups.icc.fundamentos01.security.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import ec.edu.ups.icc.fundamentos01.security.config.JwtProperties;
+import io.jsonwebtoken.Claims;
+
+/**
+ * Caché acotada de tokens JWT ya validados
+ *
+ * Clave: segmento de firma del token (único por token firmado)
+ * Valor: token completo, claims parseados y principal resuelto
+ *
+ * Caffeine acota el tamaño (desalojo por frecuencia/recencia) y expira cada entrada
+ * en el "exp" de su propio token, por lo que un token expirado nunca se sirve desde la caché.
+ */
+@Component
+public class JwtTokenCache {
+
+    private static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+    private final Cache<String, CachedToken> entries;
+
+    public JwtTokenCache(JwtProperties jwtProperties) {
+        Integer configured = jwtProperties.getCacheMaxEntries();
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(configured != null && configured > 0 ? configured : DEFAULT_MAX_ENTRIES)
+                .expireAfter(new UntilTokenExpiration())
+                .build();
+    }
+
+    // ============== LECTURA ==============
+
+    /**
+     * Devuelve la entrada del token si existe, coincide byte a byte
+     * con el token recibido y aún no ha expirado
+     */
+    public CachedToken get(String token) {
+        String key = signatureOf(token);
+        if (key == null) {
+            return null;
+        }
+
+        // Caffeine ya descarta las entradas vencidas; se comprueba igual por la
+        // resolución de su temporizador
+        CachedToken cached = entries.getIfPresent(key);
+        if (cached == null || cached.isExpired(System.currentTimeMillis())) {
+            return null;
+        }
+
+        // La firma es la clave, pero se compara el token completo:
+        // otro header/payload con la misma firma no puede reutilizar la entrada
+        if (!MessageDigest.isEqual(
+                cached.token.getBytes(StandardCharsets.US_ASCII),
+                token.getBytes(StandardCharsets.US_ASCII))) {
+            return null;
+        }
+
+        return cached;
+    }
+
+    // ============== ESCRITURA ==============
+
+    /**
+     * Guarda un token ya validado. Tokens sin "exp" no se cachean.
+     * Con la caché llena Caffeine desaloja las entradas menos usadas.
+     */
+    public void put(String token, Claims claims, UserDetails principal) {
+        String key = signatureOf(token);
+        Date expiration = claims.getExpiration();
+        if (key == null || expiration == null) {
+            return;
+        }
+
+        if (expiration.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+
+        entries.put(key, new CachedToken(token, claims, principal, expiration.getTime()));
+    }
+
+    /**
+     * Elimina todas las entradas de un usuario (cambio de datos, roles o borrado)
+     */
+    public void evictByEmail(String email) {
+        if (email == null) {
+            return;
+        }
+        entries.asMap().values().removeIf(cached -> email.equals(cached.claims.get("email", String.class)));
+    }
+
+    public void clear() {
+        entries.invalidateAll();
+    }
+
+    /**
+     * Entradas vigentes tras aplicar los desalojos pendientes
+     */
+    public long size() {
+        entries.cleanUp();
+        return entries.estimatedSize();
+    }
+
+    // ============== HELPERS ==============
+
+    private static String signatureOf(String token) {
+        if (token == null) {
+            return null;
+        }
+        int lastDot = token.lastIndexOf('.');
+        if (lastDot < 0 || lastDot == token.length() - 1) {
+            return null;
+        }
+        return token.substring(lastDot + 1);
+    }
+
+    /**
+     * Entrada inmutable de la caché
+     */
+    public static final class CachedToken {
+
+        private final String token;
+        private final Claims claims;
+        private final UserDetails principal;
+        private final long expiresAtMillis;
+
+        private CachedToken(String token, Claims claims, UserDetails principal, long expiresAtMillis) {
+            this.token = token;
+            this.claims = claims;
+            this.principal = principal;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        public Claims getClaims() {
+            return claims;
+        }
+
+        public UserDetails getPrincipal() {
+            return principal;
+        }
+
+        boolean isExpired(long now) {
+            return expiresAtMillis <= now;
+        }
+    }
+
+    /**
+     * Duración de cada entrada: el tiempo que le queda al token
+     * Leer o reemplazar la entrada no la extiende
+     */
+    private static final class UntilTokenExpiration implements Expiry<String, CachedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedToken value, long currentTime) {
+            long remainingMillis = value.expiresAtMillis - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -2,7 +2,10 @@ package ec.edu.ups.icc.fundamentos01.security.utils;
 
 
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.stream.Collectors;
 
 import javax.crypto.SecretKey;
@@ -11,12 +14,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import ec.edu.ups.icc.fundamentos01.security.config.JwtProperties;
 import ec.edu.ups.icc.fundamentos01.security.services.UserDetailsImpl;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
@@ -30,9 +35,15 @@ public class JwtUtil {
     private final JwtProperties jwtProperties;
     private final SecretKey key;
 
+    // Parser inmutable y thread-safe: se construye una sola vez y se comparte entre requests
+    private final JwtParser parser;
+
     public JwtUtil(JwtProperties jwtProperties) {
         this.jwtProperties = jwtProperties;
         this.key = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes());
+        this.parser = Jwts.parser()
+            .verifyWith(key)
+            .build();
     }
 
     public String generateToken(Authentication authentication) {
@@ -58,6 +69,7 @@ public class JwtUtil {
             .claim("email", userPrincipal.getEmail())     // "pablo@example.com"
             .claim("name", userPrincipal.getName())       // "Pablo Torres"
             .claim("roles", roles)                        // "ROLE_USER,ROLE_ADMIN"
+            .claim("ver", userPrincipal.getTokenVersion()) // Versión para revocación
             
             // Issuer: Quién emitió el token
             .issuer(jwtProperties.getIssuer())            // "fundamentos01-api"
@@ -85,6 +97,7 @@ public class JwtUtil {
             .claim("email", userDetails.getEmail())
             .claim("name", userDetails.getName())
             .claim("roles", roles)
+            .claim("ver", userDetails.getTokenVersion())
             .issuer(jwtProperties.getIssuer())
             .issuedAt(now)
             .expiration(expiryDate)
@@ -92,10 +105,8 @@ public class JwtUtil {
             .compact();
     } 
     public Long getUserIdFromToken(String token) {
-        // 1. Parsear y validar el token
-        Claims claims = Jwts.parser()
-            .verifyWith(key)              // Verifica firma con clave secreta
-            .build()                      // Construye el parser
+        // 1. Parsear y validar el token (verifica firma con clave secreta)
+        Claims claims = parser
             .parseSignedClaims(token)     // Parsea el token
             .getPayload();                // Obtiene el payload (claims)
 
@@ -105,26 +116,65 @@ public class JwtUtil {
         return Long.parseLong(claims.getSubject());
     }
     public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-            .verifyWith(key)
-            .build()
+        Claims claims = parser
             .parseSignedClaims(token)
             .getPayload();
 
         // Extraer claim "email" como String
         return claims.get("email", String.class);
     }
+    /**
+     * Reconstruye el principal directamente desde los claims verificados
+     * (modo jwt.principal-mode=claims, sin consulta a la base de datos)
+     *
+     * La contraseña no viaja en el token: el principal queda sin credenciales
+     */
+    public UserDetailsImpl buildPrincipalFromClaims(Claims claims) {
+        String roles = claims.get("roles", String.class);
+
+        Collection<GrantedAuthority> authorities = roles == null || roles.isBlank()
+            ? List.of()
+            : Arrays.stream(roles.split(","))
+                .map(String::trim)
+                .filter(role -> !role.isEmpty())
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+
+        return new UserDetailsImpl(
+            Long.valueOf(claims.getSubject()),
+            claims.get("name", String.class),
+            claims.get("email", String.class),
+            null,
+            authorities,
+            getTokenVersion(claims)
+        );
+    }
+
+    /**
+     * Claim "ver" del token; tokens emitidos antes de existir el claim cuentan como versión 0
+     */
+    public long getTokenVersion(Claims claims) {
+        Number version = claims.get("ver", Number.class);
+        return version != null ? version.longValue() : 0L;
+    }
+
     public boolean validateToken(String authToken) {
+        return validateAndGetClaims(authToken) != null;
+    }
+
+    /**
+     * Valida el token y devuelve sus claims en un solo parseo
+     * Evita verificar la firma HMAC dos veces (validateToken + getEmailFromToken)
+     *
+     * @return claims del token, o null si el token es inválido
+     */
+    public Claims validateAndGetClaims(String authToken) {
         try {
-            // Intenta parsear el token
+            // Intenta parsear el token (verifica firma con nuestra clave)
             // Si algo falla, lanza excepción
-            Jwts.parser()
-                .verifyWith(key)              // Verifica firma con nuestra clave
-                .build()
-                .parseSignedClaims(authToken);
-            
-            // Si llegamos aquí, el token es VÁLIDO
-            return true;
+            return parser
+                .parseSignedClaims(authToken)
+                .getPayload();
             
         } catch (SignatureException ex) {
             // Firma inválida: Token modificado o clave incorrecta
@@ -152,6 +202,6 @@ public class JwtUtil {
         }
         
         // Si cayó en cualquier catch, el token es INVÁLIDO
-        return false;
+        return null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,276 @@
+package ec.edu.ups.icc.fundamentos01.shared.cache;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import ec.edu.ups.icc.fundamentos01.categories.events.CategoryChangedEvent;
+import ec.edu.ups.icc.fundamentos01.products.events.ProductChangedEvent;
+import ec.edu.ups.icc.fundamentos01.shared.datasource.ReadYourWritesTracker;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Caché de respuestas JSON para los GET de catálogo más consultados
+ *
+ * - GET /api/categories, GET /api/products/{id} y las primeras páginas de /api/products/search
+ * - Clave: ruta + parámetros normalizados (ordenados, sin vacíos) + roles del usuario
+ * - Se guardan los bytes ya serializados: un acierto no toca la BD ni Jackson
+ * - Se invalida con los eventos de escritura de productos y categorías (al confirmar)
+ *
+ * Corre después de Spring Security: el usuario ya está autenticado y sus roles son parte de la clave.
+ */
+@Component
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final Pattern PRODUCT_BY_ID = Pattern.compile("^/api/products/(\\d+)$");
+
+    // Las respuestas dependen del usuario autenticado: solo caché privada y revalidación (ETag)
+    private static final String CACHE_CONTROL = "private, no-cache";
+
+    private final ResponseCacheProperties properties;
+    private final Cache<String, CachedResponse> responses;
+
+    // Cambia con cada invalidación: una respuesta calculada antes de una escritura no se guarda
+    private final AtomicLong generation = new AtomicLong();
+
+    // Presente solo con réplica de lectura (datasource.replica.url)
+    private final ReadYourWritesTracker replicaTracker;
+
+    public ResponseCacheFilter(ResponseCacheProperties properties,
+                               ObjectProvider<ReadYourWritesTracker> replicaTracker) {
+        this.properties = properties;
+        this.replicaTracker = replicaTracker.getIfAvailable();
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxBytes())
+                .weigher((String key, CachedResponse value) -> key.length() + value.body().length)
+                .expireAfterWrite(properties.getTtl())
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled()
+                || !"GET".equals(request.getMethod())
+                || target(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        Target target = target(request);
+        String key = key(request);
+
+        CachedResponse cached = responses.getIfPresent(key);
+        if (cached != null) {
+            writeCached(cached, request, response);
+            return;
+        }
+
+        long startGeneration = generation.get();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            if (isCacheable(wrapper)) {
+                responses.put(key, new CachedResponse(target, wrapper.getContentType(),
+                        wrapper.getHeader(HttpHeaders.ETAG), wrapper.getContentAsByteArray()));
+
+                // Hubo una escritura mientras se calculaba: la respuesta puede estar vencida
+                if (generation.get() != startGeneration) {
+                    responses.invalidate(key);
+                }
+            }
+            wrapper.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+            wrapper.addHeader(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION);
+            wrapper.setHeader("X-Cache", "MISS");
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    // ============== INVALIDACIÓN ==============
+
+    /**
+     * Un producto: su GET por id y todas las búsquedas; sin id (masivo): todo lo de productos
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        Long productId = event.productId();
+        invalidate(target -> target.kind() == Kind.SEARCH
+                || target.kind() == Kind.PRODUCT && (productId == null || productId.equals(target.productId())));
+    }
+
+    /**
+     * Una categoría nueva o modificada cambia el listado; los productos guardan su nombre
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        invalidate(target -> true);
+    }
+
+    private void invalidate(Predicate<Target> affected) {
+        generation.incrementAndGet();
+        responses.asMap().values().removeIf(cached -> affected.test(cached.target()));
+    }
+
+    // ============== HELPERS ==============
+
+    /**
+     * Endpoint cacheable al que corresponde la petición, o null
+     */
+    private Target target(HttpServletRequest request) {
+        String path = path(request);
+
+        if (path.equals("/api/categories")) {
+            return new Target(Kind.CATEGORIES, null);
+        }
+
+        if (path.equals("/api/products/search")) {
+            return searchPage(request.getParameter("page")) <= properties.getSearchMaxPage()
+                    ? new Target(Kind.SEARCH, null)
+                    : null;
+        }
+
+        Matcher byId = PRODUCT_BY_ID.matcher(path);
+        if (byId.matches()) {
+            return new Target(Kind.PRODUCT, Long.valueOf(byId.group(1)));
+        }
+        return null;
+    }
+
+    /**
+     * Ruta sin context path ni "/" final
+     */
+    private String path(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        return path;
+    }
+
+    private int searchPage(String page) {
+        if (page == null || page.isBlank()) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(page.trim());
+        } catch (NumberFormatException ex) {
+            // Parámetro inválido: el controlador responde 400, no se guarda
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    /**
+     * ruta?a=1&b=2|ROLE_ADMIN,ROLE_USER
+     * "?b=2&a=1", "?a=1&b=2&name=" y "?a=1&b=2&page=0" comparten clave
+     */
+    private String key(HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(path(request));
+
+        Map<String, String[]> sorted = new TreeMap<>(request.getParameterMap());
+        StringJoiner query = new StringJoiner("&", "?", "");
+        for (Map.Entry<String, String[]> param : sorted.entrySet()) {
+            for (String value : param.getValue()) {
+                if (value == null || value.isBlank()
+                        || param.getKey().equals("page") && value.trim().equals("0")) {
+                    continue;
+                }
+                query.add(param.getKey() + "=" + value.trim());
+            }
+        }
+
+        return key.append(query).append('|').append(roles()).toString();
+    }
+
+    private String roles() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return "anonymous";
+        }
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .sorted()
+                .reduce((first, second) -> first + "," + second)
+                .orElse("");
+    }
+
+    private boolean isCacheable(ContentCachingResponseWrapper wrapper) {
+        // Con réplica: justo después de una escritura la respuesta pudo salir de una réplica
+        // atrasada; guardarla dejaría el dato viejo en caché hasta la próxima invalidación
+        if (replicaTracker != null && replicaTracker.anyWriteWithinWindow()) {
+            return false;
+        }
+        String contentType = wrapper.getContentType();
+        return wrapper.getStatus() == HttpStatus.OK.value()
+                && contentType != null
+                && contentType.contains("json");
+    }
+
+    private void writeCached(CachedResponse cached, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION);
+        response.setHeader("X-Cache", "HIT");
+
+        if (cached.etag() != null) {
+            response.setHeader(HttpHeaders.ETAG, cached.etag());
+
+            String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+            if (ifNoneMatch != null && matchesAny(ifNoneMatch, cached.etag())) {
+                response.setStatus(HttpStatus.NOT_MODIFIED.value());
+                return;
+            }
+        }
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(cached.contentType());
+        response.setContentLength(cached.body().length);
+        response.getOutputStream().write(cached.body());
+    }
+
+    /**
+     * Comparación débil de If-None-Match (lista de ETags o "*")
+     */
+    private boolean matchesAny(String ifNoneMatch, String etag) {
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(etag));
+    }
+
+    private enum Kind {
+        CATEGORIES, PRODUCT, SEARCH
+    }
+
+    private record Target(Kind kind, Long productId) {
+    }
+
+    private record CachedResponse(Target target, String contentType, String etag, byte[] body) {
+    }
+}
@@ -0,0 +1,57 @@
+package ec.edu.ups.icc.fundamentos01.shared.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caché de respuestas HTTP (api.response-cache.*)
+ */
+@Configuration
+@ConfigurationProperties(prefix = "api.response-cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    // Red de seguridad: la invalidación normal es por eventos de escritura
+    private Duration ttl = Duration.ofMinutes(5);
+
+    // Límite total de bytes JSON almacenados
+    private long maxBytes = 64L * 1024 * 1024;
+
+    // /api/products/search se guarda solo hasta esta página (0 = primera)
+    private int searchMaxPage = 2;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public int getSearchMaxPage() {
+        return searchMaxPage;
+    }
+
+    public void setSearchMaxPage(int searchMaxPage) {
+        this.searchMaxPage = searchMaxPage;
+    }
+}
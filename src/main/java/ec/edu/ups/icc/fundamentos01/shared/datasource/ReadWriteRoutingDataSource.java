@@ -0,0 +1,36 @@
+package ec.edu.ups.icc.fundamentos01.shared.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Elige el pool al obtener la conexión física:
+ *
+ * - @Transactional(readOnly = true) -> réplica, salvo que el usuario haya escrito hace poco
+ * - Todo lo demás (escrituras, sin transacción, Flyway) -> primario
+ *
+ * Va envuelto en LazyConnectionDataSourceProxy: la conexión real se pide en la primera
+ * sentencia, cuando la transacción ya marcó readOnly (en doBegin todavía no lo está).
+ */
+class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReadYourWritesTracker tracker;
+
+    ReadWriteRoutingDataSource(ReadYourWritesTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Route.PRIMARY;
+        }
+        return tracker.currentUserWroteRecently() ? Route.PRIMARY : Route.REPLICA;
+    }
+}
@@ -0,0 +1,87 @@
+package ec.edu.ups.icc.fundamentos01.shared.datasource;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import ec.edu.ups.icc.fundamentos01.categories.events.CategoryChangedEvent;
+import ec.edu.ups.icc.fundamentos01.products.events.ProductChangedEvent;
+import ec.edu.ups.icc.fundamentos01.security.services.UserDetailsImpl;
+
+/**
+ * Ventana de lectura-de-lo-escrito: usuarios que confirmaron una escritura hace menos
+ * de datasource.replica.read-your-writes-window leen del primario
+ *
+ * La réplica puede ir atrasada; sin esto un usuario que acaba de crear un producto
+ * podría no verlo en el listado siguiente. Las escrituras se detectan con los mismos
+ * eventos que invalidan las cachés (productos, categorías y cambios de usuarios).
+ */
+@Component
+@ConditionalOnProperty(prefix = "datasource.replica", name = "url")
+public class ReadYourWritesTracker {
+
+    // Presencia de la clave = escritura dentro de la ventana (expira sola)
+    private final Cache<Long, Boolean> recentWriters;
+    private final long windowNanos;
+
+    // Última escritura de cualquier usuario (para cachés compartidas, ver ResponseCacheFilter)
+    private final AtomicLong lastWriteNanos;
+
+    public ReadYourWritesTracker(ReplicaDataSourceProperties properties) {
+        this.windowNanos = properties.getReadYourWritesWindow().toNanos();
+        this.lastWriteNanos = new AtomicLong(System.nanoTime() - windowNanos);
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getReadYourWritesWindow())
+                .maximumSize(100_000)
+                .build();
+    }
+
+    // ============== ESCRITURAS ==============
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        recordWrite();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        recordWrite();
+    }
+
+    private void recordWrite() {
+        lastWriteNanos.set(System.nanoTime());
+        Long userId = currentUserId();
+        if (userId != null) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+
+    // ============== CONSULTA ==============
+
+    public boolean currentUserWroteRecently() {
+        Long userId = currentUserId();
+        return userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+
+    /**
+     * true si alguna escritura pudo no haber llegado aún a la réplica
+     */
+    public boolean anyWriteWithinWindow() {
+        return System.nanoTime() - lastWriteNanos.get() < windowNanos;
+    }
+
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl user) {
+            return user.getId();
+        }
+        return null;
+    }
+}
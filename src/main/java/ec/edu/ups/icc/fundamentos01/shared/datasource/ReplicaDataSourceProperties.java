@@ -0,0 +1,55 @@
+package ec.edu.ups.icc.fundamentos01.shared.datasource;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Réplica de lectura (datasource.replica.*)
+ * Sin url configurada no hay enrutamiento: todo va al datasource principal
+ */
+@Configuration
+@ConfigurationProperties(prefix = "datasource.replica")
+public class ReplicaDataSourceProperties {
+
+    private String url;
+    private String username;
+    private String password;
+
+    // Después de escribir, las lecturas del mismo usuario van al primario durante este tiempo
+    // Debe cubrir el retraso de replicación normal (pg_stat_replication.replay_lag)
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public Duration getReadYourWritesWindow() {
+        return readYourWritesWindow;
+    }
+
+    public void setReadYourWritesWindow(Duration readYourWritesWindow) {
+        this.readYourWritesWindow = readYourWritesWindow;
+    }
+}
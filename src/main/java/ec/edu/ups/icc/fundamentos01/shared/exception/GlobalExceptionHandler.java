@@ -2,6 +2,7 @@ package ec.edu.ups.icc.fundamentos01.shared.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -67,6 +68,25 @@ public class GlobalExceptionHandler {
                 .body(response);
     }
 
+    /* =========================
+       Concurrency (@Version)
+       ========================= */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(
+            OptimisticLockingFailureException ex,
+            HttpServletRequest request
+    ) {
+        ErrorResponse response = new ErrorResponse(
+                HttpStatus.CONFLICT,
+                "El recurso fue modificado por otra solicitud. Vuelve a cargarlo e intenta de nuevo",
+                request.getRequestURI()
+        );
+
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(response);
+    }
+
     /* =========================
        Authorization / Security
        ========================= */
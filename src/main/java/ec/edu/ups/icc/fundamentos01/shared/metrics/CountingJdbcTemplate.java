@@ -0,0 +1,27 @@
+package ec.edu.ups.icc.fundamentos01.shared.metrics;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * JdbcTemplate que suma cada sentencia creada al contador de QueryCountInspector
+ *
+ * applyStatementSettings se invoca una vez por Statement / PreparedStatement / CallableStatement
+ * en todos los métodos de JdbcTemplate, antes de ejecutarlo.
+ */
+class CountingJdbcTemplate extends JdbcTemplate {
+
+    CountingJdbcTemplate(DataSource dataSource) {
+        super(dataSource);
+    }
+
+    @Override
+    protected void applyStatementSettings(Statement stmt) throws SQLException {
+        QueryCountInspector.increment();
+        super.applyStatementSettings(stmt);
+    }
+}
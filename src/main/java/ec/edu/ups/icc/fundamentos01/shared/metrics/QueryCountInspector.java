@@ -0,0 +1,68 @@
+package ec.edu.ups.icc.fundamentos01.shared.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Cuenta las sentencias SQL que se preparan en el hilo de la petición actual
+ *
+ * Registrado con hibernate.session_factory.statement_inspector (Hibernate lo instancia,
+ * no es un bean); las sentencias de JdbcTemplate (ProductCountEstimator) se suman desde
+ * CountingJdbcTemplate. El contador vive en un ThreadLocal que abre y cierra
+ * QueryCountInterceptor; fuera de start() / stop() no se cuenta nada.
+ *
+ * capture() / captured() guardan además el SQL generado (tests de planes de ejecución).
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNTER = new ThreadLocal<>();
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    public static void start() {
+        COUNTER.set(new int[1]);
+    }
+
+    /**
+     * Cierra el conteo del hilo actual y devuelve el total
+     */
+    public static int stop() {
+        int[] counter = COUNTER.get();
+        COUNTER.remove();
+        return counter != null ? counter[0] : 0;
+    }
+
+    /**
+     * Empieza a guardar el SQL de las sentencias del hilo actual
+     */
+    public static void capture() {
+        CAPTURED.set(new ArrayList<>());
+    }
+
+    /**
+     * Termina la captura del hilo actual y devuelve las sentencias en orden
+     */
+    public static List<String> captured() {
+        List<String> statements = CAPTURED.get();
+        CAPTURED.remove();
+        return statements != null ? statements : List.of();
+    }
+
+    static void increment() {
+        int[] counter = COUNTER.get();
+        if (counter != null) {
+            counter[0]++;
+        }
+    }
+
+    @Override
+    public String inspect(String sql) {
+        increment();
+        List<String> statements = CAPTURED.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+}
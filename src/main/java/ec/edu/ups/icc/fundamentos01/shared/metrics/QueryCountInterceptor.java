@@ -0,0 +1,57 @@
+package ec.edu.ups.icc.fundamentos01.shared.metrics;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Publica las sentencias SQL por petición como http.server.requests.queries{method, uri}
+ *
+ * uri es el patrón del endpoint (/api/products/{id}), igual que en http.server.requests:
+ * un N+1 en un listado aparece como un salto del promedio/máximo de ese endpoint.
+ */
+@Component
+public class QueryCountInterceptor implements AsyncHandlerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    public QueryCountInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryCountInspector.start();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        int queries = QueryCountInspector.stop();
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("http.server.requests.queries")
+                .description("Sentencias SQL (Hibernate y JdbcTemplate) ejecutadas en la petición")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .register(meterRegistry)
+                .record(queries);
+    }
+
+    /**
+     * Respuestas asíncronas (StreamingResponseBody): el hilo original se libera aquí,
+     * sin afterCompletion; se descarta su contador para no dejarlo en el hilo
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        QueryCountInspector.stop();
+    }
+}
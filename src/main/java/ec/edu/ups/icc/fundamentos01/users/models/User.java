@@ -11,6 +11,9 @@ public class User {
     private String password; // no se expone en la API
     private String createdAt;
 
+    // Versión leída de la BD; viaja a la entidad para el bloqueo optimista del merge
+    private long version;
+
     // Constructor privado para forzar uso de factory methods
     public User(int id, String name, String email, String password) {
         this.id = id;
@@ -28,12 +31,14 @@ public class User {
      * @return instancia de User para lógica de negocio
      */
     public static User fromEntity(UserEntity entity) {
-        return new User(
+        User user = new User(
             entity.getId().intValue(),
             entity.getName(),
             entity.getEmail(),
             entity.getPassword()
         );
+        user.version = entity.getVersion();
+        return user;
     }
 
         /**
@@ -44,6 +49,7 @@ public class User {
         UserEntity entity = new UserEntity();
         if (this.id > 0) {
             entity.setId((long) this.id);
+            entity.setVersion(this.version);
         }
         entity.setName(this.name);
         entity.setEmail(this.email);
@@ -6,6 +6,9 @@ import java.util.List;
 import java.util.Set;
 import jakarta.persistence.*;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import ec.edu.ups.icc.fundamentos01.core.entities.BaseModel;
 import ec.edu.ups.icc.fundamentos01.products.models.ProductEntity;
 import ec.edu.ups.icc.fundamentos01.security.models.RoleEntity;
@@ -25,6 +28,15 @@ public class UserEntity extends BaseModel {
     @Column(nullable = false)
     private String password;
 
+    /**
+     * Versión de los tokens emitidos (claim "ver")
+     * Solo se modifica con UPDATE explícito (UserRepository.incrementTokenVersion),
+     * por eso updatable = false: el merge desde el dominio no la sobrescribe
+     */
+    @Column(name = "token_version", nullable = false, updatable = false,
+            columnDefinition = "bigint default 0")
+    private long tokenVersion = 0L;
+
     /**
      * Relación One-to-Many con Product
      * Un usuario puede tener múltiples productos
@@ -34,8 +46,10 @@ public class UserEntity extends BaseModel {
 
     /**
      * Relación Many-to-Many con Role
+     * La colección (ids de roles) va en caché de segundo nivel; los roles, en la región "roles"
      */
     @ManyToMany(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users-roles")
     @JoinTable(
         name = "user_roles",
         joinColumns = @JoinColumn(name = "user_id"),
@@ -75,6 +89,10 @@ public class UserEntity extends BaseModel {
         return roles;
     }
 
+    public long getTokenVersion() {
+        return tokenVersion;
+    }
+
     // ================= SETTERS =================
 
     public void setName(String name) {
@@ -2,7 +2,11 @@ package ec.edu.ups.icc.fundamentos01.users.repository;
 
 import ec.edu.ups.icc.fundamentos01.users.models.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -14,4 +18,21 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
     Optional<UserEntity> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    /**
+     * Versión actual de tokens del usuario (una columna, sin joins)
+     * Transacción de escritura a propósito: con réplica se lee del primario,
+     * una réplica atrasada devolvería la versión anterior a una revocación
+     */
+    @Transactional
+    @Query("SELECT u.tokenVersion FROM UserEntity u WHERE u.id = :id")
+    Optional<Long> findTokenVersionById(@Param("id") Long id);
+
+    /**
+     * Invalida todos los tokens emitidos al usuario
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE UserEntity u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.id = :id")
+    int incrementTokenVersion(@Param("id") Long id);
 }
\ No newline at end of file
@@ -1,19 +1,32 @@
 package ec.edu.ups.icc.fundamentos01.users.services;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import ec.edu.ups.icc.fundamentos01.categories.dtos.CategoryResponseDto;
 import ec.edu.ups.icc.fundamentos01.categories.entity.CategoryEntity;
 import ec.edu.ups.icc.fundamentos01.exceptions.domain.BadRequestException;
 import ec.edu.ups.icc.fundamentos01.exceptions.domain.NotFoundException;
+import ec.edu.ups.icc.fundamentos01.products.dtos.ProductFilter;
 import ec.edu.ups.icc.fundamentos01.products.dtos.ProductResponseDto;
+import ec.edu.ups.icc.fundamentos01.products.events.ProductChangedEvent;
 
 import ec.edu.ups.icc.fundamentos01.products.models.ProductEntity;
 import ec.edu.ups.icc.fundamentos01.products.repository.ProductRepository;
+import ec.edu.ups.icc.fundamentos01.products.repository.ProductSpecifications;
+import ec.edu.ups.icc.fundamentos01.security.models.RoleEntity;
+import ec.edu.ups.icc.fundamentos01.security.services.TokenVersionService;
+import ec.edu.ups.icc.fundamentos01.security.services.UserDetailsServiceImpl;
 import ec.edu.ups.icc.fundamentos01.users.dtos.CreateUserDto;
 import ec.edu.ups.icc.fundamentos01.users.dtos.PartialUpdateUserDto;
 import ec.edu.ups.icc.fundamentos01.users.dtos.UpdateUserDto;
@@ -27,13 +40,24 @@ import ec.edu.ups.icc.fundamentos01.users.repository.UserRepository;
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepo;
     private final ProductRepository productRepo;
-
-    public UserServiceImpl(UserRepository userRepo, ProductRepository productRepo) {
+    private final TokenVersionService tokenVersionService;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public UserServiceImpl(UserRepository userRepo,
+            ProductRepository productRepo,
+            TokenVersionService tokenVersionService,
+            UserDetailsServiceImpl userDetailsService,
+            ApplicationEventPublisher eventPublisher) {
         this.userRepo = userRepo;
         this.productRepo = productRepo;
+        this.tokenVersionService = tokenVersionService;
+        this.userDetailsService = userDetailsService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserResponseDto> findAll() {
         return userRepo.findAll()
                 .stream()
@@ -69,53 +93,69 @@ public class UserServiceImpl implements UserService {
     @Override
     public UserResponseDto update(int id, UpdateUserDto dto) {
 
-        return userRepo.findById((long) id)
+        UserEntity existing = userRepo.findById((long) id)
+                // Error controlado si no existe
+                .orElseThrow(() -> new IllegalStateException("Usuario no encontrado"));
+
+        // Datos previos: el merge los sobrescribe sobre la misma instancia gestionada
+        AuthSnapshot previous = AuthSnapshot.of(existing);
+
+        return Optional.of(existing)
                 // Entity → Domain
                 .map(User::fromEntity)
 
                 // Aplicar cambios permitidos en el dominio
                 .map(u -> u.update(dto))
 
-                // Domain → Entity
-                .map(User::toEntity)
+                // Domain → Entity (el dominio no modela roles: se conservan los actuales)
+                .map(u -> withRoles(u.toEntity(), previous))
 
                 // Persistencia
                 .map(userRepo::save)
 
+                // Tokens y principal cacheado con los datos anteriores dejan de ser válidos
+                .map(saved -> invalidateAuthentication(previous, saved))
+
                 // Entity → Domain
                 .map(User::fromEntity)
 
                 // Domain → DTO
                 .map(UserMapper::toResponse)
-
-                // Error controlado si no existe
-                .orElseThrow(() -> new IllegalStateException("Usuario no encontrado"));
+                .orElseThrow();
     }
 
     @Override
     public UserResponseDto partialUpdate(int id, PartialUpdateUserDto dto) {
 
-        return userRepo.findById((long) id)
+        UserEntity existing = userRepo.findById((long) id)
+                // Error si no existe
+                .orElseThrow(() -> new IllegalStateException("Usuario no encontrado"));
+
+        // Datos previos: el merge los sobrescribe sobre la misma instancia gestionada
+        AuthSnapshot previous = AuthSnapshot.of(existing);
+
+        return Optional.of(existing)
                 // Entity → Domain
                 .map(User::fromEntity)
 
                 // Aplicar solo los cambios presentes
                 .map(user -> user.partialUpdate(dto))
 
-                // Domain → Entity
-                .map(User::toEntity)
+                // Domain → Entity (el dominio no modela roles: se conservan los actuales)
+                .map(u -> withRoles(u.toEntity(), previous))
 
                 // Persistencia
                 .map(userRepo::save)
 
+                // Tokens y principal cacheado con los datos anteriores dejan de ser válidos
+                .map(saved -> invalidateAuthentication(previous, saved))
+
                 // Entity → Domain
                 .map(User::fromEntity)
 
                 // Domain → DTO
                 .map(UserMapper::toResponse)
-
-                // Error si no existe
-                .orElseThrow(() -> new IllegalStateException("Usuario no encontrado"));
+                .orElseThrow();
     }
 
     @Override
@@ -124,7 +164,13 @@ public class UserServiceImpl implements UserService {
         // Verifica existencia y elimina
         userRepo.findById((long) id)
                 .ifPresentOrElse(
-                        userRepo::delete,
+                        user -> {
+                            tokenVersionService.revokeAll(user.getId());
+                            userRepo.delete(user);
+                            userDetailsService.evict(user.getEmail());
+                            // Los productos del usuario se eliminan en cascada
+                            eventPublisher.publishEvent(ProductChangedEvent.ownerDeleted(user.getId()));
+                        },
                         () -> {
                             throw new IllegalStateException("Usuario no encontrado");
                         });
@@ -183,9 +229,11 @@ public class UserServiceImpl implements UserService {
             throw new BadRequestException("El precio máximo debe ser mayor o igual al precio mínimo");
         }
 
-        // 3. Consulta con filtros al repositorio correcto
-        List<ProductEntity> products = productRepo.findByOwnerIdWithFilters(
-                userId, name, minPrice, maxPrice, categoryId);
+        // 3. Consulta con filtros al repositorio correcto (ids) y carga de relaciones en lote
+        List<Long> ids = productRepo.findIds(
+                ProductSpecifications.matching(ProductFilter.ofOwner(userId, name, minPrice, maxPrice, categoryId)),
+                Sort.by("id"));
+        List<ProductEntity> products = productRepo.findWithRelationsInOrder(ids);
 
         // 4. Mapear a DTOs
         return products.stream()
@@ -195,11 +243,57 @@ public class UserServiceImpl implements UserService {
 
     // ============== MÉTODO HELPER ==============
 
+    /**
+     * Descarta el principal cacheado (email anterior y nuevo) y revoca los tokens
+     * solo si cambió algo que los tokens certifican: email, contraseña o roles
+     */
+    private UserEntity invalidateAuthentication(AuthSnapshot previous, UserEntity saved) {
+        AuthSnapshot current = AuthSnapshot.of(saved);
+
+        if (!current.email().equals(previous.email())
+                || !Objects.equals(current.password(), previous.password())
+                || !current.roleIds().equals(previous.roleIds())) {
+            tokenVersionService.revokeAll(saved.getId());
+        }
+
+        userDetailsService.evict(previous.email());
+        if (!current.email().equals(previous.email())) {
+            userDetailsService.evict(current.email());
+        }
+
+        // Nombre y email del owner forman parte de las respuestas de productos en caché
+        if (!Objects.equals(current.name(), previous.name()) || !current.email().equals(previous.email())) {
+            eventPublisher.publishEvent(ProductChangedEvent.bulk());
+        }
+        return saved;
+    }
+
+    private static UserEntity withRoles(UserEntity entity, AuthSnapshot previous) {
+        entity.setRoles(new HashSet<>(previous.roles()));
+        return entity;
+    }
+
+    /**
+     * Copia de los datos de autenticación tomada antes del merge
+     */
+    private record AuthSnapshot(String name, String email, String password, Set<RoleEntity> roles) {
+
+        static AuthSnapshot of(UserEntity user) {
+            return new AuthSnapshot(user.getName(), user.getEmail(), user.getPassword(),
+                    new HashSet<>(user.getRoles()));
+        }
+
+        Set<Long> roleIds() {
+            return roles.stream().map(RoleEntity::getId).collect(Collectors.toSet());
+        }
+    }
+
     /**
      * Convierte ProductEntity a ProductResponseDto
      * NOTA: Este método podría estar en un mapper separado para mejor organización
+     * Visibilidad de paquete: lo mide UserMappingBenchmark (src/jmh)
      */
-    private ProductResponseDto toResponseDto(ProductEntity entity) {
+    ProductResponseDto toResponseDto(ProductEntity entity) {
         ProductResponseDto dto = new ProductResponseDto();
         dto.id = entity.getId();
         dto.name = entity.getName();
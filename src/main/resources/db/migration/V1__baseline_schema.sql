@@ -0,0 +1,58 @@
+-- ============== ESQUEMA BASE ==============
+-- Esquema equivalente al que generaba ddl-auto: update.
+-- En bases existentes Flyway registra esta versión como baseline (baseline-on-migrate)
+-- y no la ejecuta; IF NOT EXISTS la vuelve inocua si se ejecuta de todos modos.
+
+CREATE SEQUENCE IF NOT EXISTS base_model_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS users (
+    id            BIGINT       NOT NULL PRIMARY KEY,
+    created_at    TIMESTAMP(6),
+    updated_at    TIMESTAMP(6),
+    deleted       BOOLEAN      NOT NULL,
+    name          VARCHAR(150) NOT NULL,
+    email         VARCHAR(150) NOT NULL UNIQUE,
+    password      VARCHAR(255) NOT NULL,
+    token_version BIGINT       NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS roles (
+    id          BIGINT      NOT NULL PRIMARY KEY,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    deleted     BOOLEAN     NOT NULL,
+    name        VARCHAR(50) NOT NULL UNIQUE,
+    description VARCHAR(200)
+);
+
+CREATE TABLE IF NOT EXISTS user_roles (
+    user_id BIGINT NOT NULL REFERENCES users (id),
+    role_id BIGINT NOT NULL REFERENCES roles (id),
+    PRIMARY KEY (user_id, role_id)
+);
+
+CREATE TABLE IF NOT EXISTS categories (
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    deleted     BOOLEAN      NOT NULL,
+    name        VARCHAR(120) NOT NULL UNIQUE,
+    description VARCHAR(500)
+);
+
+CREATE TABLE IF NOT EXISTS products (
+    id          BIGINT           NOT NULL PRIMARY KEY,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    deleted     BOOLEAN          NOT NULL,
+    name        VARCHAR(150)     NOT NULL,
+    price       DOUBLE PRECISION NOT NULL,
+    description VARCHAR(500),
+    user_id     BIGINT           NOT NULL REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS product_categories (
+    product_id  BIGINT NOT NULL REFERENCES products (id),
+    category_id BIGINT NOT NULL REFERENCES categories (id),
+    PRIMARY KEY (product_id, category_id)
+);
@@ -0,0 +1,17 @@
+-- ============== SECUENCIA COMPARTIDA Y VERSIÓN DE TOKENS ==============
+-- Bases creadas con ddl-auto antes de estos cambios: tablas con IDENTITY y sin token_version.
+
+CREATE SEQUENCE IF NOT EXISTS base_model_seq START WITH 1 INCREMENT BY 50;
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_version BIGINT NOT NULL DEFAULT 0;
+
+-- La secuencia debe quedar por encima de los ids existentes.
+-- Hibernate (optimizador pooled, allocationSize = 50) asigna ids por debajo del valor
+-- devuelto por nextval, por eso se deja un bloque de margen. Nunca retrocede.
+SELECT setval('base_model_seq', GREATEST(
+    (SELECT last_value FROM base_model_seq),
+    (SELECT COALESCE(MAX(id), 0) FROM users) + 50,
+    (SELECT COALESCE(MAX(id), 0) FROM roles) + 50,
+    (SELECT COALESCE(MAX(id), 0) FROM categories) + 50,
+    (SELECT COALESCE(MAX(id), 0) FROM products) + 50
+));
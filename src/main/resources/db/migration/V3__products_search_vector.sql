@@ -0,0 +1,11 @@
+-- ============== BÚSQUEDA DE TEXTO COMPLETO ==============
+-- search_vector es una columna generada: Postgres la recalcula en cada INSERT/UPDATE.
+-- Hibernate no la mapea. Peso A: nombre, peso B: descripción (ts_rank prioriza el nombre).
+
+ALTER TABLE products ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('spanish', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('spanish', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_products_search_vector ON products USING GIN (search_vector);
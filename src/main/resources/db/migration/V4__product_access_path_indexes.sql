@@ -0,0 +1,26 @@
+-- ============== ÍNDICES POR RUTA DE ACCESO A PRODUCTOS ==============
+-- Cada índice termina en id: sirve como desempate del orden (keyset) y evita un sort extra.
+-- Los órdenes DESC usan el mismo índice recorrido hacia atrás.
+
+-- Productos de un usuario: user_id = ? (más los filtros opcionales de precio,
+-- nombre y categoría) con el orden por defecto created_at
+CREATE INDEX IF NOT EXISTS idx_products_user_created_id ON products (user_id, created_at, id);
+
+-- Filtro minPrice/maxPrice, sort=price y paginación keyset (price, id)
+CREATE INDEX IF NOT EXISTS idx_products_price_id ON products (price, id);
+
+-- sort=createdAt (por defecto en /search) y paginación keyset (created_at, id)
+CREATE INDEX IF NOT EXISTS idx_products_created_id ON products (created_at, id);
+
+-- sort=name, paginación keyset (name, id) y búsqueda por nombre exacto
+-- (validación de nombre único e importación masiva)
+CREATE INDEX IF NOT EXISTS idx_products_name_id ON products (name, id);
+
+-- Paginación keyset por updatedAt: ordena por COALESCE(updated_at, created_at)
+CREATE INDEX IF NOT EXISTS idx_products_updated_or_created_id
+    ON products ((COALESCE(updated_at, created_at)), id);
+
+-- Filtro categoryId (EXISTS) y productos de una categoría: la PK es (product_id, category_id),
+-- que no sirve para buscar por categoría
+CREATE INDEX IF NOT EXISTS idx_product_categories_category_product
+    ON product_categories (category_id, product_id);
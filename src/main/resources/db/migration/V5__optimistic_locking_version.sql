@@ -0,0 +1,9 @@
+-- ============== BLOQUEO OPTIMISTA ==============
+-- Columna @Version de BaseModel: Hibernate la incrementa en cada UPDATE
+-- y rechaza escrituras hechas sobre una versión anterior.
+-- En products también es el ETag de GET/PUT/DELETE /api/products/{id}.
+
+ALTER TABLE users      ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE roles      ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE categories ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE products   ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
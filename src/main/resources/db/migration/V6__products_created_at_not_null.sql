@@ -0,0 +1,11 @@
+-- ============== created_at OBLIGATORIO EN PRODUCTOS ==============
+-- El merge de entidades reconstruidas desde el dominio escribía created_at = NULL.
+-- Los órdenes por created_at (paginación por cursor y comparaciones de tupla) omiten
+-- filas con NULL; se rellena con la mejor fecha disponible y se vuelve obligatoria.
+-- BaseModel.createdAt ahora es updatable = false.
+
+UPDATE products
+SET created_at = COALESCE(updated_at, now())
+WHERE created_at IS NULL;
+
+ALTER TABLE products ALTER COLUMN created_at SET NOT NULL;
@@ -0,0 +1,99 @@
+package ec.edu.ups.icc.fundamentos01.categories.reporitory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ec.edu.ups.icc.fundamentos01.categories.entity.CategoryEntity;
+import ec.edu.ups.icc.fundamentos01.shared.metrics.QueryCountInspector;
+
+/**
+ * Las categorías resueltas por id y el listado completo salen de la caché de segundo nivel
+ * Sin @Transactional: la región se llena al confirmar cada transacción
+ */
+@SpringBootTest
+class CategoryRepositoryCacheTests {
+
+    @Autowired
+    private CategoryRepository categoryRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private List<Long> ids;
+
+    @BeforeEach
+    void seed() {
+        String suffix = UUID.randomUUID().toString();
+        ids = List.of(save("Cache A " + suffix), save("Cache B " + suffix));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        categoryRepo.deleteAllById(ids);
+    }
+
+    @Test
+    void idsResolveFromSecondLevelCache() {
+        inTransaction(() -> categoryRepo.findAllByIdInChunks(ids));
+
+        int statements = countStatements(() -> {
+            Map<Long, CategoryEntity> found = categoryRepo.findAllByIdInChunks(ids);
+            assertEquals(2, found.size());
+        });
+
+        assertEquals(0, statements);
+    }
+
+    @Test
+    void missingIdsAreLeftOut() {
+        Map<Long, CategoryEntity> found = inTransaction(() -> categoryRepo.findAllByIdInChunks(
+                List.of(ids.get(0), Long.MAX_VALUE)));
+
+        assertEquals(1, found.size());
+    }
+
+    @Test
+    void listingIsServedByTheQueryCache() {
+        inTransaction(categoryRepo::findAll);
+
+        assertEquals(0, countStatements(categoryRepo::findAll));
+    }
+
+    // ============== HELPERS ==============
+
+    private Long save(String name) {
+        CategoryEntity category = new CategoryEntity();
+        category.setName(name);
+        return categoryRepo.save(category).getId();
+    }
+
+    private <T> T inTransaction(Supplier<T> action) {
+        return new TransactionTemplate(transactionManager).execute(status -> action.get());
+    }
+
+    private int countStatements(Runnable action) {
+        int statements;
+        QueryCountInspector.start();
+        try {
+            inTransaction(() -> {
+                action.run();
+                return null;
+            });
+        } finally {
+            statements = QueryCountInspector.stop();
+        }
+        return statements;
+    }
+}
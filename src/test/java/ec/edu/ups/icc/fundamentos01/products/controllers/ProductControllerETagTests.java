@@ -0,0 +1,136 @@
+package ec.edu.ups.icc.fundamentos01.products.controllers;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import ec.edu.ups.icc.fundamentos01.categories.entity.CategoryEntity;
+import ec.edu.ups.icc.fundamentos01.categories.reporitory.CategoryRepository;
+import ec.edu.ups.icc.fundamentos01.products.models.ProductEntity;
+import ec.edu.ups.icc.fundamentos01.products.repository.ProductRepository;
+import ec.edu.ups.icc.fundamentos01.users.models.UserEntity;
+import ec.edu.ups.icc.fundamentos01.users.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+
+/**
+ * El ETag de GET /api/products/{id} cambia con todo lo que muestra el cuerpo,
+ * no solo con products.version
+ */
+@SpringBootTest
+@Transactional
+@TestPropertySource(properties = {
+        // Sin la caché de respuestas: se prueba el validador del controlador
+        "api.response-cache.enabled=false"
+})
+class ProductControllerETagTests {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ProductRepository productRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private CategoryRepository categoryRepo;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private MockMvc mvc;
+    private Long productId;
+    private Long ownerId;
+    private Long categoryId;
+    private String suffix;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+
+        suffix = UUID.randomUUID().toString();
+        UserEntity owner = userRepo.save(new UserEntity("Owner " + suffix, suffix + "@test.com", "secret"));
+
+        CategoryEntity category = new CategoryEntity();
+        category.setName("Categoría " + suffix);
+        category = categoryRepo.save(category);
+
+        ProductEntity product = new ProductEntity();
+        product.setName("Producto " + suffix);
+        product.setPrice(10.0);
+        product.setOwner(owner);
+        product.setCategories(new HashSet<>(Set.of(category)));
+        productId = productRepo.save(product).getId();
+        ownerId = owner.getId();
+        categoryId = category.getId();
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void unchangedProductIsNotModified() throws Exception {
+        String etag = currentETag();
+
+        revalidate(etag).andExpect(status().isNotModified());
+    }
+
+    @Test
+    void renamedCategoryReturnsTheNewBody() throws Exception {
+        String etag = currentETag();
+
+        CategoryEntity category = categoryRepo.findById(categoryId).orElseThrow();
+        category.setName("Renombrada " + suffix);
+        entityManager.flush();
+
+        revalidate(etag)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.categories[0].name").value("Renombrada " + suffix));
+    }
+
+    @Test
+    void renamedOwnerReturnsTheNewBody() throws Exception {
+        String etag = currentETag();
+
+        UserEntity owner = userRepo.findById(ownerId).orElseThrow();
+        owner.setName("Renombrado " + suffix);
+        entityManager.flush();
+
+        revalidate(etag).andExpect(status().isOk());
+    }
+
+    // ============== HELPERS ==============
+
+    private String currentETag() throws Exception {
+        return revalidate(null).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private ResultActions revalidate(String ifNoneMatch) throws Exception {
+        entityManager.clear();
+        var request = get("/api/products/{id}", productId).with(user("admin").roles("ADMIN"));
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return mvc.perform(request);
+    }
+}
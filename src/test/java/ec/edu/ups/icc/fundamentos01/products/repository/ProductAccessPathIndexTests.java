@@ -0,0 +1,181 @@
+package ec.edu.ups.icc.fundamentos01.products.repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import ec.edu.ups.icc.fundamentos01.products.dtos.ProductFilter;
+import ec.edu.ups.icc.fundamentos01.products.models.ProductEntity;
+import ec.edu.ups.icc.fundamentos01.products.utils.ProductCursor;
+import ec.edu.ups.icc.fundamentos01.shared.metrics.QueryCountInspector;
+
+/**
+ * Plan de cada ruta de acceso de V4 sobre una tabla sembrada y analizada
+ *
+ * Se ejecuta el método real del repositorio, se toma el SQL que generó Hibernate
+ * (QueryCountInspector.capture) y se explica con EXPLAIN (GENERIC_PLAN) de Postgres 16:
+ * el plan genérico es el que se reutiliza con sentencias preparadas en el servidor
+ * (prepareThreshold), sin conocer los valores de los parámetros.
+ * Si el planificador deja de elegir el índice esperado, el test lo muestra con el plan.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProductAccessPathIndexTests {
+
+    private static final int USERS = 200;
+    private static final int CATEGORIES = 100;
+    private static final int PRODUCTS = 50_000;
+
+    // Por encima de la secuencia: no choca con ids asignados por Hibernate
+    private static final long FIRST_ID = 10_000_000L;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16");
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private ProductRepository productRepo;
+
+    @BeforeAll
+    void seed() {
+        jdbc.update("INSERT INTO users (id, created_at, deleted, name, email, password) "
+                + "SELECT ? + g, now(), false, 'Owner ' || g, 'owner' || g || '@plan.test', 'secret' "
+                + "FROM generate_series(1, ?) g", FIRST_ID, USERS);
+
+        jdbc.update("INSERT INTO categories (id, created_at, deleted, name) "
+                + "SELECT ? + g, now(), false, 'Plan ' || g FROM generate_series(1, ?) g", FIRST_ID, CATEGORIES);
+
+        jdbc.update("INSERT INTO products (id, created_at, updated_at, deleted, name, price, description, user_id) "
+                + "SELECT ? + g, now() - g * interval '1 minute', "
+                + "CASE WHEN g % 2 = 0 THEN now() - g * interval '1 second' END, false, "
+                + "'Product ' || g, (g % 5000) + 0.99, 'Descripción ' || g, ? + 1 + g % ? "
+                + "FROM generate_series(1, ?) g", FIRST_ID, FIRST_ID, USERS, PRODUCTS);
+
+        jdbc.update("INSERT INTO product_categories (product_id, category_id) "
+                + "SELECT ? + g, ? + 1 + g % ? FROM generate_series(1, ?) g",
+                FIRST_ID, FIRST_ID, CATEGORIES, PRODUCTS);
+
+        jdbc.execute("ANALYZE users");
+        jdbc.execute("ANALYZE categories");
+        jdbc.execute("ANALYZE products");
+        jdbc.execute("ANALYZE product_categories");
+    }
+
+    @Test
+    void ownerListingUsesUserCreatedIndex() {
+        ProductFilter filter = ProductFilter.ofOwner(FIRST_ID + 7, null, null, null, null);
+
+        assertUsesIndex("idx_products_user_created_id", () -> productRepo.findIds(
+                ProductSpecifications.matching(filter), PageRequest.of(0, 20, Sort.by("createdAt", "id"))));
+    }
+
+    @Test
+    void priceSeekUsesPriceIndex() {
+        assertUsesIndex("idx_products_price_id", seek(ProductFilter.of(null, null, null, null), "price", false));
+    }
+
+    @Test
+    void priceRangeSeekUsesPriceIndex() {
+        assertUsesIndex("idx_products_price_id",
+                seek(ProductFilter.of(null, 1000.0, 2000.0, null), "price", false));
+    }
+
+    @Test
+    void createdAtSeekDescUsesCreatedIndex() {
+        assertUsesIndex("idx_products_created_id",
+                seek(ProductFilter.of(null, null, null, null), "createdAt", true));
+    }
+
+    @Test
+    void nameSeekUsesNameIndex() {
+        assertUsesIndex("idx_products_name_id", seek(ProductFilter.of(null, null, null, null), "name", false));
+    }
+
+    @Test
+    void updatedAtSeekUsesExpressionIndex() {
+        assertUsesIndex("idx_products_updated_or_created_id",
+                seek(ProductFilter.of(null, null, null, null), "updatedAt", false));
+    }
+
+    @Test
+    void textSeekUsesSearchVectorIndex() {
+        assertUsesIndex("idx_products_search_vector",
+                seek(ProductFilter.of("Product 4242", null, null, null), "createdAt", true));
+    }
+
+    @Test
+    void exactNameLookupUsesNameIndex() {
+        assertUsesIndex("idx_products_name_id", () -> productRepo.findByName("Product 4242"));
+    }
+
+    @Test
+    void categoryFilterUsesCategoryIndex() {
+        assertUsesIndex("idx_product_categories_category_product",
+                () -> productRepo.findByCategoriesId(FIRST_ID + 3));
+    }
+
+    // ============== HELPERS ==============
+
+    /**
+     * Segunda página (con posición del cursor) de una consulta seek
+     * El producto del cursor se carga antes: su SELECT no debe quedar en la captura
+     */
+    private Supplier<List<Long>> seek(ProductFilter filter, String property, boolean descending) {
+        ProductEntity middle = productRepo.findById(FIRST_ID + PRODUCTS / 2).orElseThrow();
+        ProductCursor position = ProductCursor.start(property, descending).after(middle);
+        return () -> productRepo.seekIds(filter, position, 21);
+    }
+
+    /**
+     * EXPLAIN (GENERIC_PLAN) de la primera sentencia que generó la llamada
+     */
+    private void assertUsesIndex(String index, Supplier<?> repositoryCall) {
+        List<String> statements;
+        QueryCountInspector.capture();
+        try {
+            repositoryCall.get();
+        } finally {
+            statements = QueryCountInspector.captured();
+        }
+        assertFalse(statements.isEmpty(), "La llamada no generó SQL");
+
+        String sql = numberedParameters(statements.get(0));
+        String plan = String.join("\n", jdbc.queryForList("EXPLAIN (GENERIC_PLAN) " + sql, String.class));
+        assertTrue(plan.contains(index), "Se esperaba " + index + " en el plan de:\n" + sql + "\n" + plan);
+    }
+
+    /**
+     * Los "?" de JDBC como $1, $2...: EXPLAIN (GENERIC_PLAN) no recibe valores
+     */
+    private static String numberedParameters(String sql) {
+        StringBuilder numbered = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+}
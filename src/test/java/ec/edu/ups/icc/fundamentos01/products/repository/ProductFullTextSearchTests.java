@@ -0,0 +1,156 @@
+package ec.edu.ups.icc.fundamentos01.products.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import ec.edu.ups.icc.fundamentos01.categories.entity.CategoryEntity;
+import ec.edu.ups.icc.fundamentos01.categories.reporitory.CategoryRepository;
+import ec.edu.ups.icc.fundamentos01.products.dtos.ProductFilter;
+import ec.edu.ups.icc.fundamentos01.products.models.ProductEntity;
+import ec.edu.ups.icc.fundamentos01.products.utils.ProductCursor;
+import ec.edu.ups.icc.fundamentos01.products.utils.ProductSearchQuery;
+import ec.edu.ups.icc.fundamentos01.users.models.UserEntity;
+import ec.edu.ups.icc.fundamentos01.users.repository.UserRepository;
+
+/**
+ * Búsqueda de texto completo contra Postgres real (Testcontainers, migraciones de Flyway)
+ *
+ * Verifica la columna generada search_vector, los prefijos de ProductSearchQuery
+ * y que los CAST de FULL_TEXT_FILTERS admiten filtros ausentes (parámetros null)
+ */
+@SpringBootTest
+@Transactional
+@Testcontainers(disabledWithoutDocker = true)
+class ProductFullTextSearchTests {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16");
+
+    @Autowired
+    private ProductRepository productRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private CategoryRepository categoryRepo;
+
+    @Autowired
+    private ProductCountEstimator estimator;
+
+    private Long laptopGamer;
+    private Long laptopOficina;
+    private Long mouseGamer;
+    private Long gamerCategoryId;
+
+    @BeforeEach
+    void seed() {
+        UserEntity owner = userRepo.save(new UserEntity("Owner", "owner-search@test.com", "secret"));
+
+        CategoryEntity gamer = new CategoryEntity();
+        gamer.setName("Gamer");
+        gamer = categoryRepo.save(gamer);
+        gamerCategoryId = gamer.getId();
+
+        laptopGamer = save(owner, "Laptop Gamer", 1500.0, "Portátil con tarjeta dedicada", Set.of(gamer));
+        laptopOficina = save(owner, "Laptop Oficina", 700.0, "Portátil liviana", Set.of());
+        mouseGamer = save(owner, "Mouse", 40.0, "Mouse gamer para laptop", Set.of(gamer));
+        productRepo.flush();
+    }
+
+    // ============== FILTROS AUSENTES (CAST DE PARÁMETROS NULL) ==============
+
+    @Test
+    void searchWithoutFiltersMatchesNameAndDescription() {
+        List<Long> ids = productRepo.searchIds(query("laptop"), null, null, null,
+                PageRequest.of(0, 10, Sort.by("id")));
+
+        assertEquals(List.of(laptopGamer, laptopOficina, mouseGamer), ids);
+        assertEquals(3, productRepo.countSearch(query("laptop"), null, null, null));
+    }
+
+    @Test
+    void prefixTermsMustAllMatch() {
+        List<Long> ids = productRepo.searchIds(query("Lap gam"), null, null, null,
+                PageRequest.of(0, 10, Sort.by("id")));
+
+        assertEquals(List.of(laptopGamer, mouseGamer), ids);
+    }
+
+    @Test
+    void relevanceRanksNameAboveDescription() {
+        List<Long> ids = productRepo.searchIdsByRelevance(query("laptop"), null, null, null, PageRequest.of(0, 10));
+
+        // "laptop" solo en la descripción (peso B) queda al final
+        assertEquals(mouseGamer, ids.get(ids.size() - 1));
+    }
+
+    @Test
+    void plannerEstimateAcceptsNullFilters() {
+        // EXPLAIN por JdbcTemplate: un CAST faltante haría fallar la inferencia de tipos (UNKNOWN)
+        assertNotEquals(ProductCountEstimator.UNKNOWN, estimator.estimateSearch(query("laptop"), null, null, null));
+        assertNotEquals(ProductCountEstimator.UNKNOWN, estimator.estimate(ProductFilter.of("laptop", null, null, null)));
+    }
+
+    // ============== FILTROS PRESENTES ==============
+
+    @Test
+    void priceAndCategoryFiltersNarrowTheSearch() {
+        assertEquals(List.of(laptopOficina), productRepo.searchIds(query("laptop"), 500.0, 1000.0, null,
+                PageRequest.of(0, 10, Sort.by("id"))));
+        assertEquals(List.of(laptopGamer, mouseGamer), productRepo.searchIds(query("laptop"), null, null,
+                gamerCategoryId, PageRequest.of(0, 10, Sort.by("id"))));
+        assertEquals(1, productRepo.countSearch(query("laptop"), 1000.0, null, gamerCategoryId));
+    }
+
+    // ============== PAGINACIÓN POR CURSOR ==============
+
+    @Test
+    void cursorSearchMatchesTheSameRowsAsSearch() {
+        // "gam" solo aparece en la descripción del mouse: un LIKE sobre el nombre lo perdería
+        List<Long> ids = productRepo.seekIds(ProductFilter.of("Lap gam", null, null, null),
+                ProductCursor.start("id", false), 10);
+
+        assertEquals(productRepo.searchIds(query("Lap gam"), null, null, null,
+                PageRequest.of(0, 10, Sort.by("id"))), ids);
+    }
+
+    @Test
+    void cursorSearchCombinesTextAndCategory() {
+        assertEquals(List.of(laptopGamer, mouseGamer), productRepo.seekIds(
+                ProductFilter.of("laptop", null, null, gamerCategoryId), ProductCursor.start("id", false), 10));
+    }
+
+    // ============== HELPERS ==============
+
+    private static String query(String text) {
+        return ProductSearchQuery.toPrefixTsQuery(text);
+    }
+
+    private Long save(UserEntity owner, String name, Double price, String description,
+                      Set<CategoryEntity> categories) {
+        ProductEntity product = new ProductEntity();
+        product.setName(name);
+        product.setPrice(price);
+        product.setDescription(description);
+        product.setOwner(owner);
+        product.setCategories(categories);
+        return productRepo.save(product).getId();
+    }
+}
@@ -0,0 +1,134 @@
+package ec.edu.ups.icc.fundamentos01.products.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import ec.edu.ups.icc.fundamentos01.products.dtos.ProductFilter;
+import ec.edu.ups.icc.fundamentos01.products.models.ProductEntity;
+import ec.edu.ups.icc.fundamentos01.products.utils.ProductCursor;
+
+/**
+ * Recorrido completo por cursor con el SQL dinámico de seekIds
+ *
+ * Los precios se repiten: el desempate por id debe entregar cada fila una sola vez,
+ * en el mismo orden que un ORDER BY completo, con y sin filtros.
+ */
+@SpringBootTest
+@Transactional
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProductSeekTests {
+
+    private static final int PRODUCTS = 30;
+    private static final int PAGE = 4;
+
+    // Por encima de la secuencia: no choca con ids asignados por Hibernate
+    private static final long FIRST_ID = 10_000_000L;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16");
+
+    @Autowired
+    private ProductRepository productRepo;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeAll
+    void seed() {
+        jdbc.update("INSERT INTO users (id, created_at, deleted, name, email, password) "
+                + "VALUES (?, now(), false, 'Seek owner', 'seek@plan.test', 'secret')", FIRST_ID);
+
+        jdbc.update("INSERT INTO categories (id, created_at, deleted, name) "
+                + "SELECT ? + g, now(), false, 'Seek ' || g FROM generate_series(1, 2) g", FIRST_ID);
+
+        jdbc.update("INSERT INTO products (id, created_at, updated_at, deleted, name, price, description, user_id) "
+                + "SELECT ? + g, now() - (g % 7) * interval '1 hour', "
+                + "CASE WHEN g % 3 = 0 THEN now() END, false, "
+                + "'Seek ' || (g % 4), (g % 5) + 0.5, 'Descripción ' || g, ? "
+                + "FROM generate_series(1, ?) g", FIRST_ID, FIRST_ID, PRODUCTS);
+
+        jdbc.update("INSERT INTO product_categories (product_id, category_id) "
+                + "SELECT ? + g, ? + 1 + g % 2 FROM generate_series(1, ?) g", FIRST_ID, FIRST_ID, PRODUCTS);
+    }
+
+    @Test
+    void everySortWalksAllRowsOnce() {
+        for (String property : List.of("id", "name", "price", "createdAt", "updatedAt")) {
+            for (boolean descending : List.of(false, true)) {
+                ProductFilter filter = ProductFilter.ofOwner(FIRST_ID, null, null, null, null);
+                assertEquals(expected(filter, property, descending), walk(filter, property, descending),
+                        property + (descending ? " desc" : " asc"));
+            }
+        }
+    }
+
+    @Test
+    void filtersApplyOnEveryPage() {
+        // El texto (search_vector) se prueba en ProductFullTextSearchTests
+        ProductFilter filter = ProductFilter.ofOwner(FIRST_ID, null, 1.0, 3.5, FIRST_ID + 1);
+
+        assertEquals(expected(filter, "price", true), walk(filter, "price", true));
+    }
+
+    // ============== HELPERS ==============
+
+    private List<Long> walk(ProductFilter filter, String property, boolean descending) {
+        List<Long> seen = new ArrayList<>();
+        ProductCursor position = ProductCursor.start(property, descending);
+
+        while (true) {
+            List<Long> ids = productRepo.seekIds(filter, position, PAGE);
+            seen.addAll(ids);
+            if (ids.size() < PAGE) {
+                return seen;
+            }
+            ProductEntity last = productRepo.findById(ids.get(ids.size() - 1)).orElseThrow();
+            // Ida y vuelta por el formato del cliente
+            position = ProductCursor.decode(position.after(last).encode());
+        }
+    }
+
+    /**
+     * Mismo orden calculado en memoria sobre las filas del propietario
+     */
+    private List<Long> expected(ProductFilter filter, String property, boolean descending) {
+        Comparator<ProductEntity> order = switch (property) {
+            case "name" -> Comparator.comparing(ProductEntity::getName);
+            case "price" -> Comparator.comparing(ProductEntity::getPrice);
+            case "createdAt" -> Comparator.comparing(ProductEntity::getCreatedAt);
+            case "updatedAt" -> Comparator.comparing(
+                    p -> p.getUpdatedAt() != null ? p.getUpdatedAt() : p.getCreatedAt());
+            default -> Comparator.comparing(ProductEntity::getId);
+        };
+        order = order.thenComparing(ProductEntity::getId);
+        if (descending) {
+            order = order.reversed();
+        }
+
+        return productRepo.findByOwnerId(filter.ownerId()).stream()
+                .filter(p -> filter.minPrice() == null || p.getPrice() >= filter.minPrice())
+                .filter(p -> filter.maxPrice() == null || p.getPrice() <= filter.maxPrice())
+                .filter(p -> filter.categoryId() == null
+                        || p.getCategories().stream().anyMatch(c -> c.getId().equals(filter.categoryId())))
+                .sorted(order)
+                .map(ProductEntity::getId)
+                .toList();
+    }
+}
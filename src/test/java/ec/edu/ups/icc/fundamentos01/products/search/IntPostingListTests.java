@@ -0,0 +1,63 @@
+package ec.edu.ups.icc.fundamentos01.products.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Postings ordenados y sin duplicados, con inserciones fuera de orden y crecimiento del arreglo
+ */
+class IntPostingListTests {
+
+    @Test
+    void keepsDocsSortedAndUnique() {
+        IntPostingList list = new IntPostingList();
+        for (int doc : new int[] { 5, 1, 9, 1, 3, 9, 7 }) {
+            list.add(doc);
+        }
+
+        assertEquals(bits(1, 3, 5, 7, 9), toBitSet(list));
+    }
+
+    @Test
+    void growsBeyondInitialCapacity() {
+        IntPostingList list = new IntPostingList();
+        for (int doc = 99; doc >= 0; doc--) {
+            list.add(doc);
+        }
+
+        assertEquals(100, toBitSet(list).cardinality());
+    }
+
+    @Test
+    void removeIgnoresMissingDocs() {
+        IntPostingList list = new IntPostingList();
+        list.add(2);
+        list.add(4);
+
+        list.remove(3);
+        list.remove(2);
+
+        assertEquals(bits(4), toBitSet(list));
+
+        list.remove(4);
+        assertTrue(list.isEmpty());
+    }
+
+    private static BitSet toBitSet(IntPostingList list) {
+        BitSet bits = new BitSet();
+        list.addTo(bits);
+        return bits;
+    }
+
+    private static BitSet bits(int... docs) {
+        BitSet bits = new BitSet();
+        for (int doc : docs) {
+            bits.set(doc);
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,134 @@
+package ec.edu.ups.icc.fundamentos01.products.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import ec.edu.ups.icc.fundamentos01.products.events.ProductChangedEvent;
+import ec.edu.ups.icc.fundamentos01.products.models.ProductEntity;
+import ec.edu.ups.icc.fundamentos01.products.repository.ProductRepository;
+import ec.edu.ups.icc.fundamentos01.users.models.UserEntity;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Índice en memoria sin BD: sin transacción activa los cambios se aplican de inmediato
+ */
+class ProductSearchIndexTests {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex(mock(ProductRepository.class), mock(EntityManager.class),
+                mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void prefixTermsAndAccentsMatch() {
+        index(1L, 10L, "Canción de cuna", 10.0);
+        index(2L, 10L, "Cancionero", 20.0);
+        index(3L, 10L, "Mouse", 30.0);
+
+        assertEquals(List.of(1L, 2L), ids(search("cancion", PageRequest.of(0, 10, Sort.by("id")))));
+        assertEquals(List.of(1L), ids(search("CANCIÓN cu", PageRequest.of(0, 10, Sort.by("id")))));
+    }
+
+    @Test
+    void pagesAreTheBoundedTopOfTheRequestedOrder() {
+        for (long id = 1; id <= 50; id++) {
+            index(id, 10L, "Laptop " + id, 1000.0 - id);
+        }
+
+        Page<Long> page = search("laptop", PageRequest.of(2, 5, Sort.by("price")));
+
+        // Precio ascendente = id descendente: posiciones 10..14
+        assertEquals(List.of(40L, 39L, 38L, 37L, 36L), page.getContent());
+        assertEquals(50, page.getTotalElements());
+    }
+
+    @Test
+    void pageBeyondTheMatchesIsEmptyWithTotal() {
+        index(1L, 10L, "Laptop", 10.0);
+
+        Page<Long> page = search("laptop", PageRequest.of(3, 10, Sort.by("id")));
+
+        assertTrue(page.getContent().isEmpty());
+        assertEquals(1, page.getTotalElements());
+    }
+
+    @Test
+    void relevancePutsNameMatchesFirst() {
+        indexWithDescription(1L, "Mouse", "compatible con laptop");
+        indexWithDescription(2L, "Laptop", "");
+
+        assertEquals(List.of(2L, 1L), ids(index.search("laptop", null, null, null, PageRequest.of(0, 10), true)));
+    }
+
+    @Test
+    void deletedOwnerProductsLeaveTheIndex() {
+        index(1L, 10L, "Laptop A", 10.0);
+        index(2L, 20L, "Laptop B", 10.0);
+        index(3L, 10L, "Laptop C", 10.0);
+
+        index.onProductChanged(ProductChangedEvent.ownerDeleted(10L));
+
+        Page<Long> page = search("laptop", PageRequest.of(0, 10, Sort.by("id")));
+        assertEquals(List.of(2L), page.getContent());
+        assertEquals(1, page.getTotalElements());
+    }
+
+    @Test
+    void removedDocumentsAreCompacted() {
+        for (long id = 1; id <= 3000; id++) {
+            index(id, 10L, "Laptop " + id, 10.0);
+        }
+        for (long id = 1; id <= 2000; id++) {
+            index.removeAfterCommit(id);
+        }
+
+        assertTrue(index.documentSlots() < 3000, "Posiciones: " + index.documentSlots());
+        Page<Long> page = search("laptop", PageRequest.of(0, 3, Sort.by("id")));
+        assertEquals(List.of(2001L, 2002L, 2003L), page.getContent());
+        assertEquals(1000, page.getTotalElements());
+    }
+
+    // ============== HELPERS ==============
+
+    private Page<Long> search(String text, PageRequest pageable) {
+        return index.search(text, null, null, null, pageable, false);
+    }
+
+    private static List<Long> ids(Page<Long> page) {
+        return page.getContent();
+    }
+
+    private void index(Long id, Long ownerId, String name, Double price) {
+        index.indexAfterCommit(product(id, ownerId, name, price, null), List.of());
+    }
+
+    private void indexWithDescription(Long id, String name, String description) {
+        index.indexAfterCommit(product(id, 10L, name, 10.0, description), List.of());
+    }
+
+    private static ProductEntity product(Long id, Long ownerId, String name, Double price, String description) {
+        UserEntity owner = new UserEntity();
+        owner.setId(ownerId);
+
+        ProductEntity product = new ProductEntity();
+        product.setId(id);
+        product.setOwner(owner);
+        product.setName(name);
+        product.setPrice(price);
+        product.setDescription(description);
+        return product;
+    }
+}
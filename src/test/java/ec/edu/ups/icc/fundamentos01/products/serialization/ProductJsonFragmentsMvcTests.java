@@ -0,0 +1,119 @@
+package ec.edu.ups.icc.fundamentos01.products.serialization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import ec.edu.ups.icc.fundamentos01.products.events.ProductChangedEvent;
+import ec.edu.ups.icc.fundamentos01.products.models.ProductEntity;
+import ec.edu.ups.icc.fundamentos01.products.repository.ProductRepository;
+import ec.edu.ups.icc.fundamentos01.users.models.UserEntity;
+import ec.edu.ups.icc.fundamentos01.users.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Las respuestas HTTP de productos salen de los fragmentos en caché (conversor MVC de JacksonConfig)
+ *
+ * El nombre se cambia por JDBC, sin evento ni cambio de versión: si la respuesta
+ * conserva el nombre anterior, lo escribió el fragmento y no el DTO recién leído.
+ */
+@SpringBootTest
+@Transactional
+@TestPropertySource(properties = {
+        "products.json-fragments.enabled=true",
+        // Sin la caché de respuestas completas, que ocultaría qué capa respondió
+        "api.response-cache.enabled=false"
+})
+class ProductJsonFragmentsMvcTests {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ProductJsonFragments fragments;
+
+    @Autowired
+    private ProductRepository productRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private MockMvc mvc;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+
+        String suffix = UUID.randomUUID().toString();
+        UserEntity owner = userRepo.save(new UserEntity("Owner " + suffix, suffix + "@test.com", "secret"));
+
+        ProductEntity product = new ProductEntity();
+        product.setName("Original " + suffix);
+        product.setPrice(10.0);
+        product.setOwner(owner);
+        productId = productRepo.save(product).getId();
+
+        entityManager.flush();
+        entityManager.clear();
+        fragments.onCategoryChanged(null);
+    }
+
+    @Test
+    void responseIsWrittenFromTheCachedFragment() throws Exception {
+        String original = productRepo.findById(productId).orElseThrow().getName();
+
+        getProduct().andExpect(jsonPath("$.name").value(original));
+        assertEquals(1, fragments.size());
+
+        renameWithoutEvent("Renombrado");
+
+        getProduct().andExpect(jsonPath("$.name").value(original));
+    }
+
+    @Test
+    void productEventDropsTheFragment() throws Exception {
+        getProduct();
+        renameWithoutEvent("Renombrado");
+
+        fragments.onProductChanged(new ProductChangedEvent(productId));
+
+        getProduct().andExpect(jsonPath("$.name").value("Renombrado"));
+    }
+
+    // ============== HELPERS ==============
+
+    private ResultActions getProduct() throws Exception {
+        entityManager.clear();
+        return mvc.perform(get("/api/products/{id}", productId).with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk());
+    }
+
+    private void renameWithoutEvent(String name) {
+        jdbc.update("UPDATE products SET name = ? WHERE id = ?", name, productId);
+        entityManager.clear();
+    }
+}
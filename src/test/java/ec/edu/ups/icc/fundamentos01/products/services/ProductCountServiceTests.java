@@ -0,0 +1,129 @@
+package ec.edu.ups.icc.fundamentos01.products.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageRequest;
+
+import ec.edu.ups.icc.fundamentos01.products.config.ProductCountProperties;
+import ec.edu.ups.icc.fundamentos01.products.dtos.CountedPage;
+import ec.edu.ups.icc.fundamentos01.products.dtos.ProductFilter;
+import ec.edu.ups.icc.fundamentos01.products.events.ProductChangedEvent;
+import ec.edu.ups.icc.fundamentos01.products.repository.ProductCountEstimator;
+import ec.edu.ups.icc.fundamentos01.shared.datasource.ReadYourWritesTracker;
+
+/**
+ * Totales de los listados: página incompleta, caché por filtros, invalidación y umbral de estimación
+ */
+class ProductCountServiceTests {
+
+    private static final List<String> FULL_PAGE = List.of("a", "b");
+
+    private ProductCountEstimator estimator;
+    private ProductCountProperties properties;
+    private ProductCountService service;
+    private AtomicInteger exactCounts;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        estimator = mock(ProductCountEstimator.class);
+        properties = new ProductCountProperties();
+        properties.setExactThreshold(1000);
+        // Sin réplica de lectura: getIfAvailable() devuelve null
+        service = new ProductCountService(estimator, properties, mock(ObjectProvider.class));
+        exactCounts = new AtomicInteger();
+    }
+
+    @Test
+    void partialPageNeedsNoCount() {
+        CountedPage<String> page = service.pageOfAll(List.of("a"), PageRequest.of(3, 2), this::exactCount);
+
+        assertEquals(7, page.getTotalElements());
+        assertTrue(page.isTotalExact());
+        assertEquals(0, exactCounts.get());
+        verifyNoInteractions(estimator);
+    }
+
+    @Test
+    void totalIsReusedForTheSameFilters() {
+        when(estimator.estimate(ProductFilter.of("Laptop", null, null, null))).thenReturn(40L);
+
+        service.pageOf(ProductFilter.of("Laptop", null, null, null), FULL_PAGE, PageRequest.of(0, 2), this::exactCount);
+        CountedPage<String> page = service.pageOf(ProductFilter.of("laptop", null, null, null), FULL_PAGE,
+                PageRequest.of(1, 2), this::exactCount);
+
+        assertEquals(50, page.getTotalElements());
+        assertEquals(1, exactCounts.get());
+    }
+
+    @Test
+    void productChangeDropsCachedTotals() {
+        when(estimator.estimateAll()).thenReturn(40L);
+        service.pageOfAll(FULL_PAGE, PageRequest.of(0, 2), this::exactCount);
+
+        service.onProductChanged(ProductChangedEvent.bulk());
+        service.pageOfAll(FULL_PAGE, PageRequest.of(0, 2), this::exactCount);
+
+        assertEquals(2, exactCounts.get());
+        verify(estimator, times(2)).estimateAll();
+    }
+
+    @Test
+    void estimateAboveThresholdIsReturnedAsApproximate() {
+        when(estimator.estimateAll()).thenReturn(250_000L);
+
+        CountedPage<String> page = service.pageOfAll(FULL_PAGE, PageRequest.of(0, 2), this::exactCount);
+
+        assertEquals(250_000, page.getTotalElements());
+        assertFalse(page.isTotalExact());
+        assertEquals(0, exactCounts.get());
+    }
+
+    @Test
+    void unknownEstimateFallsBackToExactCount() {
+        when(estimator.estimateAll()).thenReturn(ProductCountEstimator.UNKNOWN);
+
+        CountedPage<String> page = service.pageOfAll(FULL_PAGE, PageRequest.of(0, 2), this::exactCount);
+
+        assertEquals(50, page.getTotalElements());
+        assertTrue(page.isTotalExact());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void totalsReadRightAfterAWriteAreNotCached() {
+        ReadYourWritesTracker tracker = mock(ReadYourWritesTracker.class);
+        when(tracker.anyWriteWithinWindow()).thenReturn(true, false);
+        ObjectProvider<ReadYourWritesTracker> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(tracker);
+        service = new ProductCountService(estimator, properties, provider);
+        when(estimator.estimateAll()).thenReturn(40L);
+
+        // Dentro de la ventana de replicación: el total se devuelve pero no se guarda
+        service.pageOfAll(FULL_PAGE, PageRequest.of(0, 2), this::exactCount);
+        service.pageOfAll(FULL_PAGE, PageRequest.of(0, 2), this::exactCount);
+        service.pageOfAll(FULL_PAGE, PageRequest.of(0, 2), this::exactCount);
+
+        assertEquals(2, exactCounts.get());
+    }
+
+    // ============== HELPERS ==============
+
+    private long exactCount() {
+        exactCounts.incrementAndGet();
+        return 50;
+    }
+}
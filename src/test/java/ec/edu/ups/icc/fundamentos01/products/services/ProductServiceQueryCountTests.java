@@ -0,0 +1,131 @@
+package ec.edu.ups.icc.fundamentos01.products.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import ec.edu.ups.icc.fundamentos01.categories.entity.CategoryEntity;
+import ec.edu.ups.icc.fundamentos01.categories.reporitory.CategoryRepository;
+import ec.edu.ups.icc.fundamentos01.products.models.ProductEntity;
+import ec.edu.ups.icc.fundamentos01.products.repository.ProductRepository;
+import ec.edu.ups.icc.fundamentos01.shared.metrics.QueryCountInspector;
+import ec.edu.ups.icc.fundamentos01.users.models.UserEntity;
+import ec.edu.ups.icc.fundamentos01.users.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Verifica a nivel JDBC (QueryCountInspector: Hibernate y JdbcTemplate) que los listados
+ * de productos ejecutan exactamente las sentencias esperadas, sin importar el tamaño de página
+ *
+ * Con exact-threshold al máximo el total siempre es estimación + COUNT exacto,
+ * sin depender de las estadísticas de la base de pruebas
+ */
+@SpringBootTest
+@Transactional
+@TestPropertySource(properties = "products.count.exact-threshold=" + Long.MAX_VALUE)
+class ProductServiceQueryCountTests {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private CategoryRepository categoryRepo;
+
+    @Autowired
+    private ProductCountService countService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long ownerId;
+
+    @BeforeEach
+    void seed() {
+        String suffix = UUID.randomUUID().toString();
+
+        UserEntity owner = userRepo.save(new UserEntity("Owner " + suffix, suffix + "@test.com", "secret"));
+        ownerId = owner.getId();
+
+        CategoryEntity first = newCategory("Cat A " + suffix);
+        CategoryEntity second = newCategory("Cat B " + suffix);
+
+        for (int i = 0; i < 30; i++) {
+            ProductEntity product = new ProductEntity();
+            product.setName("Product " + i + " " + suffix);
+            product.setPrice(10.0 + i);
+            product.setOwner(owner);
+            product.setCategories(Set.of(first, second));
+            productRepo.save(product);
+        }
+
+        // Las lecturas deben salir de la BD, no del contexto de persistencia
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void paginatedQueryCountDoesNotDependOnPageSize() {
+        int small = countStatements(() -> productService.findAllPaginado(0, 5, new String[] { "id" }));
+        int large = countStatements(() -> productService.findAllPaginado(0, 25, new String[] { "id" }));
+
+        // proyección + categorías del lote + reltuples (JdbcTemplate) + COUNT
+        assertEquals(4, small);
+        assertEquals(4, large);
+    }
+
+    @Test
+    void filteredQueryCountDoesNotDependOnPageSize() {
+        int small = countStatements(() -> productService.findByUserIdWithFilters(
+                ownerId, null, null, null, null, 0, 5, new String[] { "price" }));
+        int large = countStatements(() -> productService.findByUserIdWithFilters(
+                ownerId, null, null, null, null, 0, 25, new String[] { "price" }));
+
+        // existsById + ids + fetch de relaciones + EXPLAIN (JdbcTemplate) + COUNT
+        assertEquals(5, small);
+        assertEquals(5, large);
+    }
+
+    @Test
+    void keysetQueryCountDoesNotDependOnPageSize() {
+        int small = countStatements(() -> productService.findAllKeyset(null, 5, "price,desc"));
+        int large = countStatements(() -> productService.findAllKeyset(null, 25, "price,desc"));
+
+        // ids + fetch de relaciones
+        assertEquals(2, small);
+        assertEquals(2, large);
+    }
+
+    private CategoryEntity newCategory(String name) {
+        CategoryEntity category = new CategoryEntity();
+        category.setName(name);
+        return categoryRepo.save(category);
+    }
+
+    private int countStatements(Runnable action) {
+        entityManager.clear();
+        // Sin totales en caché: cada medición ejecuta el conteo
+        countService.invalidateAll();
+        int statements;
+        QueryCountInspector.start();
+        try {
+            action.run();
+        } finally {
+            statements = QueryCountInspector.stop();
+        }
+        return statements;
+    }
+}
@@ -0,0 +1,139 @@
+package ec.edu.ups.icc.fundamentos01.products.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+import ec.edu.ups.icc.fundamentos01.exceptions.domain.BadRequestException;
+import ec.edu.ups.icc.fundamentos01.products.models.ProductEntity;
+
+/**
+ * Codificación y decodificación del cursor keyset, incluida entrada manipulada
+ */
+class ProductCursorTests {
+
+    // ============== IDA Y VUELTA ==============
+
+    @Test
+    void startHasNoPosition() {
+        ProductCursor cursor = ProductCursor.start("price", true);
+
+        assertNull(cursor.getLastId());
+        assertNull(cursor.lastValueAsDouble());
+    }
+
+    @Test
+    void priceRoundTrip() {
+        ProductEntity last = product(987L, "Laptop", 1499.99);
+
+        ProductCursor decoded = ProductCursor.decode(ProductCursor.start("price", true).after(last).encode());
+
+        assertEquals("price", decoded.getProperty());
+        assertTrue(decoded.isDescending());
+        assertEquals(987L, decoded.getLastId());
+        assertEquals(1499.99, decoded.lastValueAsDouble());
+    }
+
+    @Test
+    void nameWithCommasRoundTrip() {
+        ProductEntity last = product(5L, "Cable, USB-C, 2m", 9.5);
+
+        ProductCursor decoded = ProductCursor.decode(ProductCursor.start("name", false).after(last).encode());
+
+        assertFalse(decoded.isDescending());
+        assertEquals(5L, decoded.getLastId());
+        assertEquals("Cable, USB-C, 2m", decoded.getLastValue());
+    }
+
+    @Test
+    void createdAtRoundTrip() {
+        ProductEntity last = product(7L, "Mouse", 20.0);
+
+        ProductCursor decoded = ProductCursor.decode(ProductCursor.start("createdAt", true).after(last).encode());
+
+        assertEquals(last.getCreatedAt(), decoded.lastValueAsDateTime());
+    }
+
+    @Test
+    void updatedAtFallsBackToCreatedAt() {
+        ProductEntity last = product(8L, "Teclado", 35.0);
+
+        ProductCursor decoded = ProductCursor.decode(ProductCursor.start("updatedAt", false).after(last).encode());
+
+        assertNull(last.getUpdatedAt());
+        assertEquals(last.getCreatedAt(), decoded.lastValueAsDateTime());
+    }
+
+    @Test
+    void missingSortValueIsNotEncoded() {
+        ProductEntity unsaved = new ProductEntity();
+        unsaved.setId(9L);
+
+        assertThrows(IllegalStateException.class,
+                () -> ProductCursor.start("createdAt", false).after(unsaved));
+    }
+
+    // ============== ENTRADA INVÁLIDA ==============
+
+    @Test
+    void rejectsInvalidBase64() {
+        assertThrows(BadRequestException.class, () -> ProductCursor.decode("%%%no-base64%%%"));
+    }
+
+    @Test
+    void rejectsWrongNumberOfParts() {
+        assertThrows(BadRequestException.class, () -> ProductCursor.decode(token("price,desc,1")));
+    }
+
+    @Test
+    void rejectsUnknownDirection() {
+        assertThrows(BadRequestException.class, () -> ProductCursor.decode(token("price,sideways,1,10.0")));
+    }
+
+    @Test
+    void rejectsNonNumericId() {
+        assertThrows(BadRequestException.class, () -> ProductCursor.decode(token("price,asc,abc,10.0")));
+    }
+
+    @Test
+    void rejectsTamperedPrice() {
+        ProductCursor cursor = ProductCursor.decode(token("price,asc,1,mucho"));
+
+        assertThrows(BadRequestException.class, cursor::lastValueAsDouble);
+    }
+
+    @Test
+    void rejectsTamperedDate() {
+        ProductCursor cursor = ProductCursor.decode(token("createdAt,asc,1,null"));
+
+        assertThrows(BadRequestException.class, cursor::lastValueAsDateTime);
+    }
+
+    // ============== HELPERS ==============
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Entidad como quedaría tras persistirse (@PrePersist asigna createdAt)
+     */
+    private static ProductEntity product(Long id, String name, Double price) {
+        ProductEntity entity = new ProductEntity() {
+            {
+                onCreate();
+            }
+        };
+        entity.setId(id);
+        entity.setName(name);
+        entity.setPrice(price);
+        return entity;
+    }
+}
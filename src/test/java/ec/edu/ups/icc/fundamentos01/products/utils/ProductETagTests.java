@@ -0,0 +1,102 @@
+package ec.edu.ups.icc.fundamentos01.products.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import ec.edu.ups.icc.fundamentos01.exceptions.domain.BadRequestException;
+import ec.edu.ups.icc.fundamentos01.exceptions.domain.PreconditionFailedException;
+import ec.edu.ups.icc.fundamentos01.products.dtos.ProductVersionRow;
+
+/**
+ * Huella de owner y categorías, If-None-Match con comparación débil e If-Match con comparación fuerte
+ */
+class ProductETagTests {
+
+    private static final List<ProductVersionRow> ROWS = List.of(
+            new ProductVersionRow(7, 2L, 10L, 1L),
+            new ProductVersionRow(7, 2L, 11L, 4L));
+
+    @Test
+    void etagStartsWithTheProductVersion() {
+        String etag = ProductETag.of(ROWS);
+
+        assertTrue(etag.startsWith("\"7-"));
+        assertEquals(7L, ProductETag.expectedVersion(etag));
+    }
+
+    @Test
+    void categoryOrderDoesNotChangeTheEtag() {
+        assertEquals(ProductETag.of(ROWS), ProductETag.of(List.of(ROWS.get(1), ROWS.get(0))));
+    }
+
+    @Test
+    void relatedChangesChangeTheEtag() {
+        String etag = ProductETag.of(ROWS);
+
+        // Categoría renombrada
+        assertNotEquals(etag, ProductETag.of(List.of(
+                new ProductVersionRow(7, 2L, 10L, 2L),
+                new ProductVersionRow(7, 2L, 11L, 4L))));
+        // Owner renombrado
+        assertNotEquals(etag, ProductETag.of(List.of(
+                new ProductVersionRow(7, 3L, 10L, 1L),
+                new ProductVersionRow(7, 3L, 11L, 4L))));
+        // Categoría quitada
+        assertNotEquals(etag, ProductETag.of(List.of(new ProductVersionRow(7, 2L, 10L, 1L))));
+    }
+
+    @Test
+    void productWithoutCategoriesHasAnEtag() {
+        assertEquals(ProductETag.of(7, 2), ProductETag.of(List.of(new ProductVersionRow(7, 2L, null, null))));
+    }
+
+    @Test
+    void noneMatchAcceptsListsWeakTagsAndWildcard() {
+        String etag = ProductETag.of(ROWS);
+
+        assertTrue(ProductETag.matchesNoneMatch(etag, etag));
+        assertTrue(ProductETag.matchesNoneMatch("W/" + etag, etag));
+        assertTrue(ProductETag.matchesNoneMatch("\"5-1\", " + etag, etag));
+        assertTrue(ProductETag.matchesNoneMatch("*", etag));
+    }
+
+    @Test
+    void noneMatchRejectsOtherRepresentations() {
+        assertFalse(ProductETag.matchesNoneMatch("\"7\"", ProductETag.of(ROWS)));
+        assertFalse(ProductETag.matchesNoneMatch(ProductETag.of(7, 1), ProductETag.of(ROWS)));
+    }
+
+    @Test
+    void ifMatchWithoutConstraintAllowsAnyVersion() {
+        assertNull(ProductETag.expectedVersion(null));
+        assertNull(ProductETag.expectedVersion(" "));
+        assertNull(ProductETag.expectedVersion("*"));
+    }
+
+    @Test
+    void ifMatchReturnsTheProductVersion() {
+        assertEquals(7L, ProductETag.expectedVersion(" \"7-1f\" "));
+        assertEquals(7L, ProductETag.expectedVersion("\"7\""));
+    }
+
+    @Test
+    void ifMatchRejectsWeakOrForeignTags() {
+        assertThrows(PreconditionFailedException.class, () -> ProductETag.expectedVersion("W/\"7-1f\""));
+        assertThrows(PreconditionFailedException.class, () -> ProductETag.expectedVersion("\"abc\""));
+        assertThrows(PreconditionFailedException.class, () -> ProductETag.expectedVersion("\"-1f\""));
+        assertThrows(PreconditionFailedException.class, () -> ProductETag.expectedVersion("\"\""));
+    }
+
+    @Test
+    void ifMatchRejectsLists() {
+        assertThrows(BadRequestException.class, () -> ProductETag.expectedVersion("\"6-1\", \"7-1\""));
+    }
+}
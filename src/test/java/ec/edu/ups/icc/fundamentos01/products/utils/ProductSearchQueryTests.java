@@ -0,0 +1,44 @@
+package ec.edu.ups.icc.fundamentos01.products.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Texto del usuario -> tsquery por prefijo, sin operadores de tsquery en la salida
+ */
+class ProductSearchQueryTests {
+
+    @Test
+    void eachWordBecomesALowercasePrefixTerm() {
+        assertEquals("laptop:* & gam:*", ProductSearchQuery.toPrefixTsQuery("Laptop gam"));
+    }
+
+    @Test
+    void tsqueryOperatorsAreStripped() {
+        assertEquals("laptop:* & mouse:*", ProductSearchQuery.toPrefixTsQuery("laptop & !mouse:* |"));
+        assertEquals("a:* & drop:* & b:*", ProductSearchQuery.toPrefixTsQuery("a'); DROP--b"));
+    }
+
+    @Test
+    void keepsAccentedLettersAndDigits() {
+        assertEquals(List.of("cámara", "4k"), ProductSearchQuery.tokenize("Cámara 4K"));
+    }
+
+    @Test
+    void textWithoutWordsHasNoQuery() {
+        assertNull(ProductSearchQuery.toPrefixTsQuery(null));
+        assertNull(ProductSearchQuery.toPrefixTsQuery("   "));
+        assertNull(ProductSearchQuery.toPrefixTsQuery("&|!:*"));
+    }
+
+    @Test
+    void termsAreCappedAtMaxTerms() {
+        String query = ProductSearchQuery.toPrefixTsQuery("a b c d e f g h i j k");
+
+        assertEquals(ProductSearchQuery.maxTerms(), query.split(" & ").length);
+    }
+}
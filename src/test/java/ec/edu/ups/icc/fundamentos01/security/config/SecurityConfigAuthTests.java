@@ -0,0 +1,84 @@
+package ec.edu.ups.icc.fundamentos01.security.config;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import ec.edu.ups.icc.fundamentos01.security.models.RoleEntity;
+import ec.edu.ups.icc.fundamentos01.security.models.RoleName;
+import ec.edu.ups.icc.fundamentos01.security.repository.RoleRepository;
+
+/**
+ * Superficie pública de autenticación: POST /auth/login y POST /auth/register
+ * sin token; el resto de la API sigue exigiendo autenticación
+ */
+@SpringBootTest
+@Transactional
+class SecurityConfigAuthTests {
+
+    private static final String PASSWORD = "Secret123";
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private RoleRepository roleRepo;
+
+    private MockMvc mvc;
+    private String email;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+
+        // El registro asigna ROLE_USER; las migraciones no lo siembran
+        if (roleRepo.findByName(RoleName.ROLE_USER).isEmpty()) {
+            roleRepo.save(new RoleEntity(RoleName.ROLE_USER));
+        }
+        email = UUID.randomUUID() + "@test.com";
+    }
+
+    @Test
+    void registerAndLoginArePublic() throws Exception {
+        mvc.perform(post("/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Usuario\",\"email\":\"" + email
+                                + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.token").isNotEmpty());
+
+        mvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").isNotEmpty());
+    }
+
+    @Test
+    void onlyPostToLoginAndRegisterIsPublic() throws Exception {
+        mvc.perform(get("/auth/login")).andExpect(status().isUnauthorized());
+        mvc.perform(post("/auth/other")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void protectedEndpointsStillRequireAToken() throws Exception {
+        mvc.perform(get("/api/products")).andExpect(status().isUnauthorized());
+    }
+}
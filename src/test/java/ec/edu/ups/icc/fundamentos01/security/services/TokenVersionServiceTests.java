@@ -0,0 +1,73 @@
+package ec.edu.ups.icc.fundamentos01.security.services;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ec.edu.ups.icc.fundamentos01.security.config.JwtProperties;
+import ec.edu.ups.icc.fundamentos01.users.repository.UserRepository;
+
+/**
+ * Caché de token_version: lecturas repetidas, revocación local y revocación hecha en otra instancia
+ */
+class TokenVersionServiceTests {
+
+    private UserRepository userRepository;
+    private TokenVersionService service;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        JwtProperties properties = new JwtProperties();
+        properties.setExpiration(1_800_000L);
+        properties.setVersionCacheTtl(60_000L);
+        service = new TokenVersionService(userRepository, properties);
+    }
+
+    @Test
+    void readsTheDatabaseOncePerUser() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(3L));
+
+        assertTrue(service.isCurrent(1L, 3));
+        assertTrue(service.isCurrent(1L, 3));
+
+        verify(userRepository, times(1)).findTokenVersionById(1L);
+    }
+
+    @Test
+    void newerTokenVersionReloadsTheCachedOne() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(3L), Optional.of(4L));
+        assertTrue(service.isCurrent(1L, 3));
+
+        // Otra instancia revocó (ver 4) y emitió un token nuevo
+        assertTrue(service.isCurrent(1L, 4));
+        assertFalse(service.isCurrent(1L, 3));
+    }
+
+    @Test
+    void localRevocationRejectsPreviousTokens() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(3L), Optional.of(4L));
+        assertTrue(service.isCurrent(1L, 3));
+
+        service.revokeAll(1L);
+
+        verify(userRepository).incrementTokenVersion(1L);
+        assertFalse(service.isCurrent(1L, 3));
+    }
+
+    @Test
+    void unknownUserRejectsEveryToken() {
+        when(userRepository.findTokenVersionById(9L)).thenReturn(Optional.empty());
+
+        assertFalse(service.isCurrent(9L, 0));
+        assertFalse(service.isCurrent(null, 0));
+    }
+}
@@ -0,0 +1,101 @@
+package ec.edu.ups.icc.fundamentos01.security.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import ec.edu.ups.icc.fundamentos01.security.config.JwtProperties;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+/**
+ * Caché de tokens validados: expiración por "exp", tamaño acotado y comparación del token completo
+ */
+class JwtTokenCacheTests {
+
+    private static final UserDetails PRINCIPAL = User.withUsername("ana@test.com").password("x").roles("USER").build();
+
+    @Test
+    void servesCachedTokenUntilItExpires() throws InterruptedException {
+        JwtTokenCache cache = newCache(100);
+        // "exp" se guarda en segundos: 1 s es la menor vida que sobrevive al redondeo
+        cache.put("h.p.sig", claims("ana@test.com", 1_000), PRINCIPAL);
+
+        assertNotNull(cache.get("h.p.sig"));
+        assertEquals(PRINCIPAL, cache.get("h.p.sig").getPrincipal());
+
+        Thread.sleep(2_100);
+
+        assertNull(cache.get("h.p.sig"));
+    }
+
+    @Test
+    void doesNotCacheExpiredTokensOrTokensWithoutExp() {
+        JwtTokenCache cache = newCache(100);
+
+        cache.put("h.p.expired", claims("ana@test.com", -1_000), PRINCIPAL);
+        cache.put("h.p.noexp", Jwts.claims().add("email", "ana@test.com").build(), PRINCIPAL);
+
+        assertNull(cache.get("h.p.expired"));
+        assertNull(cache.get("h.p.noexp"));
+    }
+
+    @Test
+    void sameSignatureWithDifferentPayloadIsAMiss() {
+        JwtTokenCache cache = newCache(100);
+        cache.put("h.p.sig", claims("ana@test.com", 60_000), PRINCIPAL);
+
+        assertNull(cache.get("h.otro.sig"));
+    }
+
+    @Test
+    void staysBoundedAndKeepsCachingWhenFull() {
+        JwtTokenCache cache = newCache(10);
+
+        for (int i = 0; i < 100; i++) {
+            cache.put("h.p.sig" + i, claims("u" + i + "@test.com", 60_000), PRINCIPAL);
+        }
+
+        assertTrue(cache.size() <= 10, "Entradas: " + cache.size());
+
+        // Sin entradas vencidas que purgar, un token nuevo igual se guarda
+        cache.put("h.p.nuevo", claims("nuevo@test.com", 60_000), PRINCIPAL);
+        assertNotNull(cache.get("h.p.nuevo"));
+    }
+
+    @Test
+    void evictsAllTokensOfAUser() {
+        JwtTokenCache cache = newCache(100);
+        cache.put("h.p.a1", claims("ana@test.com", 60_000), PRINCIPAL);
+        cache.put("h.p.a2", claims("ana@test.com", 60_000), PRINCIPAL);
+        cache.put("h.p.b1", claims("beto@test.com", 60_000), PRINCIPAL);
+
+        cache.evictByEmail("ana@test.com");
+
+        assertNull(cache.get("h.p.a1"));
+        assertNull(cache.get("h.p.a2"));
+        assertNotNull(cache.get("h.p.b1"));
+    }
+
+    // ============== HELPERS ==============
+
+    private static JwtTokenCache newCache(int maxEntries) {
+        JwtProperties properties = new JwtProperties();
+        properties.setCacheMaxEntries(maxEntries);
+        return new JwtTokenCache(properties);
+    }
+
+    private static Claims claims(String email, long millisToExpire) {
+        return Jwts.claims()
+                .add("email", email)
+                .expiration(new Date(System.currentTimeMillis() + millisToExpire))
+                .build();
+    }
+}
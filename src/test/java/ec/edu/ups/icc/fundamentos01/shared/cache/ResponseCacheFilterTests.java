@@ -0,0 +1,150 @@
+package ec.edu.ups.icc.fundamentos01.shared.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import ec.edu.ups.icc.fundamentos01.products.events.ProductChangedEvent;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Aciertos, clave normalizada, 304 desde caché e invalidación por eventos
+ */
+class ResponseCacheFilterTests {
+
+    private ResponseCacheFilter filter;
+    private AtomicInteger chainCalls;
+    private int status;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setSearchMaxPage(2);
+        // Sin réplica de lectura: getIfAvailable() devuelve null
+        filter = new ResponseCacheFilter(properties, mock(ObjectProvider.class));
+        chainCalls = new AtomicInteger();
+        status = HttpStatus.OK.value();
+    }
+
+    @Test
+    void secondGetIsServedFromCache() throws Exception {
+        MockHttpServletResponse first = perform(get("/api/products/1"));
+        MockHttpServletResponse second = perform(get("/api/products/1"));
+
+        assertEquals(1, chainCalls.get());
+        assertEquals("MISS", first.getHeader("X-Cache"));
+        assertEquals("HIT", second.getHeader("X-Cache"));
+        assertEquals(first.getContentAsString(), second.getContentAsString());
+        assertEquals("\"1\"", second.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void parameterOrderBlanksAndFirstPageShareKey() throws Exception {
+        MockHttpServletRequest first = get("/api/products/search");
+        first.setParameter("b", "2");
+        first.setParameter("a", "1");
+
+        MockHttpServletRequest second = get("/api/products/search");
+        second.setParameter("a", "1");
+        second.setParameter("b", "2");
+        second.setParameter("name", "");
+        second.setParameter("page", "0");
+
+        perform(first);
+        perform(second);
+
+        assertEquals(1, chainCalls.get());
+    }
+
+    @Test
+    void matchingIfNoneMatchOnHitReturns304() throws Exception {
+        perform(get("/api/products/1"));
+
+        MockHttpServletRequest revalidation = get("/api/products/1");
+        revalidation.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"1\"");
+        MockHttpServletResponse response = perform(revalidation);
+
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void productEventDropsOnlyThatProduct() throws Exception {
+        perform(get("/api/products/1"));
+        perform(get("/api/products/2"));
+
+        filter.onProductChanged(new ProductChangedEvent(1L));
+
+        assertEquals("MISS", perform(get("/api/products/1")).getHeader("X-Cache"));
+        assertEquals("HIT", perform(get("/api/products/2")).getHeader("X-Cache"));
+    }
+
+    @Test
+    void responseComputedDuringWriteIsNotStored() throws Exception {
+        FilterChain writingChain = (request, response) -> {
+            filter.onProductChanged(ProductChangedEvent.bulk());
+            respond((HttpServletRequest) request, (HttpServletResponse) response);
+        };
+        filter.doFilter(get("/api/products/1"), new MockHttpServletResponse(), writingChain);
+
+        assertEquals("MISS", perform(get("/api/products/1")).getHeader("X-Cache"));
+    }
+
+    @Test
+    void errorResponsesAreNotStored() throws Exception {
+        status = HttpStatus.NOT_FOUND.value();
+
+        perform(get("/api/products/1"));
+        perform(get("/api/products/1"));
+
+        assertEquals(2, chainCalls.get());
+    }
+
+    @Test
+    void searchPagesBeyondLimitBypassTheFilter() throws Exception {
+        MockHttpServletRequest request = get("/api/products/search");
+        request.setParameter("page", "3");
+
+        MockHttpServletResponse response = perform(request);
+
+        assertNull(response.getHeader("X-Cache"));
+    }
+
+    // ============== HELPERS ==============
+
+    private MockHttpServletRequest get(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response,
+                (req, res) -> respond((HttpServletRequest) req, (HttpServletResponse) res));
+        return response;
+    }
+
+    private void respond(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        chainCalls.incrementAndGet();
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.ETAG, "\"1\"");
+        response.getOutputStream().write(("{\"uri\":\"" + request.getRequestURI() + "\"}")
+                .getBytes(StandardCharsets.UTF_8));
+    }
+}
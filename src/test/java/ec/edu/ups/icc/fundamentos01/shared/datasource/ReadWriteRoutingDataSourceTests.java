@@ -0,0 +1,70 @@
+package ec.edu.ups.icc.fundamentos01.shared.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import ec.edu.ups.icc.fundamentos01.shared.datasource.ReadWriteRoutingDataSource.Route;
+
+/**
+ * Elección del pool según la transacción del hilo y la ventana de lectura-de-lo-escrito
+ */
+class ReadWriteRoutingDataSourceTests {
+
+    private ReadYourWritesTracker tracker;
+    private ReadWriteRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        tracker = mock(ReadYourWritesTracker.class);
+        routing = new ReadWriteRoutingDataSource(tracker);
+    }
+
+    @AfterEach
+    void clearTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void withoutTransactionUsesPrimary() {
+        assertEquals(Route.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void readWriteTransactionUsesPrimary() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        assertEquals(Route.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void readOnlyTransactionUsesReplica() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(Route.REPLICA, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void readOnlyAfterOwnWriteUsesPrimary() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(tracker.currentUserWroteRecently()).thenReturn(true);
+
+        assertEquals(Route.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void readOnlyFlagWithoutTransactionUsesPrimary() {
+        // SUPPORTS / sin transacción real: no hay garantía de que la sesión no escriba
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(Route.PRIMARY, routing.determineCurrentLookupKey());
+    }
+}
@@ -0,0 +1,89 @@
+package ec.edu.ups.icc.fundamentos01.shared.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import ec.edu.ups.icc.fundamentos01.categories.events.CategoryChangedEvent;
+import ec.edu.ups.icc.fundamentos01.products.events.ProductChangedEvent;
+import ec.edu.ups.icc.fundamentos01.security.services.UserDetailsImpl;
+
+/**
+ * Ventana de lectura-de-lo-escrito: por usuario y global (cachés compartidas)
+ */
+class ReadYourWritesTrackerTests {
+
+    private static final Duration WINDOW = Duration.ofMillis(300);
+
+    private ReadYourWritesTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        ReplicaDataSourceProperties properties = new ReplicaDataSourceProperties();
+        properties.setReadYourWritesWindow(WINDOW);
+        tracker = new ReadYourWritesTracker(properties);
+    }
+
+    @AfterEach
+    void clearUser() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void noWritesMeansNoWindow() {
+        authenticate(1L);
+
+        assertFalse(tracker.currentUserWroteRecently());
+        assertFalse(tracker.anyWriteWithinWindow());
+    }
+
+    @Test
+    void writerReadsOwnWritesOnlyWithinWindow() throws InterruptedException {
+        authenticate(1L);
+        tracker.onProductChanged(new ProductChangedEvent(10L));
+
+        assertTrue(tracker.currentUserWroteRecently());
+        assertTrue(tracker.anyWriteWithinWindow());
+
+        Thread.sleep(WINDOW.toMillis() + 200);
+
+        assertFalse(tracker.currentUserWroteRecently());
+        assertFalse(tracker.anyWriteWithinWindow());
+    }
+
+    @Test
+    void otherUsersKeepReadingTheReplica() {
+        authenticate(1L);
+        tracker.onCategoryChanged(new CategoryChangedEvent(5L));
+
+        authenticate(2L);
+
+        assertFalse(tracker.currentUserWroteRecently());
+        // Las cachés compartidas sí ven la escritura
+        assertTrue(tracker.anyWriteWithinWindow());
+    }
+
+    @Test
+    void anonymousWriteOpensOnlyTheGlobalWindow() {
+        tracker.onProductChanged(ProductChangedEvent.bulk());
+
+        assertFalse(tracker.currentUserWroteRecently());
+        assertTrue(tracker.anyWriteWithinWindow());
+    }
+
+    // ============== HELPERS ==============
+
+    private void authenticate(Long userId) {
+        UserDetailsImpl user = new UserDetailsImpl(userId, "User " + userId, userId + "@test.com", "secret", List.of());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+}
@@ -0,0 +1,133 @@
+package ec.edu.ups.icc.fundamentos01.shared.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import ec.edu.ups.icc.fundamentos01.products.events.ProductChangedEvent;
+import ec.edu.ups.icc.fundamentos01.security.services.UserDetailsImpl;
+
+/**
+ * Enrutamiento con dos Postgres locales (Testcontainers): primario y "réplica"
+ *
+ * Las bases no replican entre sí, como una réplica muy atrasada: cada sentencia
+ * muestra de qué pool salió con current_database().
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class ReplicaRoutingTests {
+
+    @Container
+    static PostgreSQLContainer primary = new PostgreSQLContainer("postgres:16").withDatabaseName("primary_db");
+
+    @Container
+    static PostgreSQLContainer replica = new PostgreSQLContainer("postgres:16").withDatabaseName("replica_db");
+
+    @DynamicPropertySource
+    static void dataSources(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primary::getJdbcUrl);
+        registry.add("spring.datasource.username", primary::getUsername);
+        registry.add("spring.datasource.password", primary::getPassword);
+        registry.add("datasource.replica.url", replica::getJdbcUrl);
+        registry.add("datasource.replica.username", replica::getUsername);
+        registry.add("datasource.replica.password", replica::getPassword);
+        registry.add("datasource.replica.read-your-writes-window", () -> "2s");
+    }
+
+    /**
+     * Flyway de la app solo migra el primario; la réplica recibiría el esquema por replicación
+     */
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure()
+                .dataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword())
+                .load()
+                .migrate();
+    }
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReadYourWritesTracker tracker;
+
+    @AfterEach
+    void clearUser() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void statementsOutsideTransactionsUsePrimary() {
+        assertEquals("primary_db", currentDatabase());
+    }
+
+    @Test
+    void readWriteTransactionUsesPrimary() {
+        assertEquals("primary_db", inTransaction(false));
+    }
+
+    @Test
+    void readOnlyTransactionUsesReplica() {
+        assertEquals("replica_db", inTransaction(true));
+    }
+
+    @Test
+    void userWhoJustWroteReadsFromPrimary() throws InterruptedException {
+        authenticate(4242L);
+        tracker.onProductChanged(new ProductChangedEvent(1L));
+
+        assertEquals("primary_db", inTransaction(true));
+
+        Thread.sleep(2_500);
+
+        assertEquals("replica_db", inTransaction(true));
+    }
+
+    @Test
+    void otherUsersKeepReadingReplicaAfterAWrite() {
+        authenticate(4242L);
+        tracker.onProductChanged(new ProductChangedEvent(1L));
+
+        authenticate(4343L);
+
+        assertEquals("replica_db", inTransaction(true));
+    }
+
+    // ============== HELPERS ==============
+
+    private String inTransaction(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> currentDatabase());
+    }
+
+    private String currentDatabase() {
+        return jdbc.queryForObject("SELECT current_database()", String.class);
+    }
+
+    private void authenticate(Long userId) {
+        UserDetailsImpl user = new UserDetailsImpl(userId, "User " + userId, userId + "@test.com", "secret", List.of());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+}